@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.Common;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanClause;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Provides the CNFs used as benchmark parameters.
+ * A name of the form {@code random-<n>} denotes a synthetic, satisfiable 3-CNF with {@code n} variables and
+ * {@code 4n} clauses, each of which is satisfied by a hidden random assignment. All other names denote feature models
+ * bundled with the test fixtures, e.g., {@code GPL/model.xml}.
+ *
+ * @author Sebastian Krieter
+ */
+final class BenchmarkFormulas {
+
+    private static final String RANDOM_PREFIX = "random-";
+    private static final int CLAUSE_LENGTH = 3;
+    private static final int CLAUSES_PER_VARIABLE = 4;
+
+    private static final class Models extends Common {}
+
+    private BenchmarkFormulas() {}
+
+    static BooleanAssignmentList load(String name) {
+        if (name.startsWith(RANDOM_PREFIX)) {
+            return createRandom(Integer.parseInt(name.substring(RANDOM_PREFIX.length())), 0);
+        }
+        return Computations.of(new Models().loadFormula(name))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+    }
+
+    private static BooleanAssignmentList createRandom(int variableCount, long seed) {
+        final Random random = new Random(seed);
+        final List<String> names = new ArrayList<>(variableCount);
+        final boolean[] hiddenSolution = new boolean[variableCount + 1];
+        for (int i = 1; i <= variableCount; i++) {
+            names.add("x" + i);
+            hiddenSolution[i] = random.nextBoolean();
+        }
+        final BooleanAssignmentList clauseList = new BooleanAssignmentList(new VariableMap(names));
+        final int clauseCount = CLAUSES_PER_VARIABLE * variableCount;
+        while (clauseList.size() < clauseCount) {
+            final int[] literals = new int[CLAUSE_LENGTH];
+            boolean satisfied = false;
+            for (int i = 0; i < CLAUSE_LENGTH; i++) {
+                final int variable = random.nextInt(variableCount) + 1;
+                literals[i] = random.nextBoolean() ? variable : -variable;
+                satisfied |= (literals[i] > 0) == hiddenSolution[variable];
+            }
+            if (satisfied) {
+                clauseList.add(new BooleanClause(literals));
+            }
+        }
+        return clauseList;
+    }
+
+    /**
+     * Creates random sets of literals.
+     *
+     * @param variableCount the number of variables
+     * @param setCount the number of sets
+     * @param setSize the number of literals per set
+     * @param seed the random seed
+     * @return the literal sets, which contain each variable at most once
+     */
+    static int[][] createRandomLiterals(int variableCount, int setCount, int setSize, long seed) {
+        final Random random = new Random(seed);
+        final int[][] literalSets = new int[setCount][];
+        for (int i = 0; i < setCount; i++) {
+            final int size = Math.min(setSize, variableCount);
+            final boolean[] used = new boolean[variableCount + 1];
+            final int[] literals = new int[size];
+            for (int j = 0; j < size; j++) {
+                int variable;
+                do {
+                    variable = random.nextInt(variableCount) + 1;
+                } while (used[variable]);
+                used[variable] = true;
+                literals[j] = random.nextBoolean() ? variable : -variable;
+            }
+            literalSets[i] = literals;
+        }
+        return literalSets;
+    }
+}
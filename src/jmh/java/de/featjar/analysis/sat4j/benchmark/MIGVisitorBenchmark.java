@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.RuntimeContradictionException;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.solver.IMIGVisitor;
+import de.featjar.analysis.sat4j.solver.MIGVisitorBitSet;
+import de.featjar.analysis.sat4j.solver.MIGVisitorByte;
+import de.featjar.analysis.sat4j.solver.MIGVisitorInt;
+import de.featjar.analysis.sat4j.solver.MIGVisitorLight;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures unit propagation in the modal implication graph for each visitor implementation.
+ * Each operation resets the visitor and propagates one random set of literals.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MIGVisitorBenchmark {
+
+    private static final int LITERAL_SET_COUNT = 1024;
+
+    @Param({"GPL/model.xml", "random-200", "random-2000"})
+    public String formula;
+
+    @Param({"BYTE", "BITSET", "INT", "LIGHT"})
+    public String visitorType;
+
+    @Param({"2", "8"})
+    public int literalCount;
+
+    private IMIGVisitor visitor;
+    private int[][] literalSets;
+    private int next;
+
+    @Setup
+    public void setup() {
+        FeatJAR.testConfiguration().initialize();
+        BooleanAssignmentList clauseList = BenchmarkFormulas.load(formula);
+        ModalImplicationGraph mig = new MIGBuilder(Computations.of(clauseList)).compute();
+        switch (visitorType) {
+            case "BYTE":
+                visitor = new MIGVisitorByte(mig);
+                break;
+            case "BITSET":
+                visitor = new MIGVisitorBitSet(mig);
+                break;
+            case "INT":
+                visitor = new MIGVisitorInt(mig);
+                break;
+            case "LIGHT":
+                visitor = new MIGVisitorLight(mig);
+                break;
+            default:
+                throw new IllegalArgumentException(visitorType);
+        }
+        literalSets = BenchmarkFormulas.createRandomLiterals(
+                clauseList.getVariableMap().size(), LITERAL_SET_COUNT, literalCount, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public void propagate(Blackhole blackhole) {
+        final int[] literals = literalSets[next];
+        next = (next + 1) % literalSets.length;
+        visitor.reset();
+        try {
+            visitor.propagate(literals);
+            blackhole.consume(visitor.getAddedLiteralCount());
+        } catch (RuntimeContradictionException e) {
+            blackhole.consume(e);
+        }
+    }
+}
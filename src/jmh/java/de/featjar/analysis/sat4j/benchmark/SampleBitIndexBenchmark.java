@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.index.SampleBitIndex;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures interaction lookups and configuration updates of a {@link SampleBitIndex} filled with random solutions,
+ * as used by YASA for t-wise coverage.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SampleBitIndexBenchmark {
+
+    private static final int LITERAL_SET_COUNT = 4096;
+
+    @Param({"GPL/model.xml", "random-200"})
+    public String formula;
+
+    @Param({"100", "1000"})
+    public int sampleSize;
+
+    @Param({"1", "2", "3"})
+    public int t;
+
+    private SampleBitIndex index;
+    private int[][] literalSets;
+    private int next;
+
+    @Setup
+    public void setup() {
+        FeatJAR.testConfiguration().initialize();
+        BooleanAssignmentList clauseList = BenchmarkFormulas.load(formula);
+        BooleanAssignmentList sample = Computations.of(clauseList)
+                .map(ComputeSolutionsSAT4J::new)
+                .set(ComputeSolutionsSAT4J.SELECTION_STRATEGY, ISelectionStrategy.Strategy.FAST_RANDOM)
+                .set(ComputeSolutionsSAT4J.LIMIT, sampleSize)
+                .compute();
+        index = new SampleBitIndex(sample.getVariableMap());
+        for (BooleanAssignment configuration : sample) {
+            index.addConfiguration(configuration.get());
+        }
+        literalSets = BenchmarkFormulas.createRandomLiterals(
+                sample.getVariableMap().size(), LITERAL_SET_COUNT, t, 0);
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public boolean test() {
+        final int[] literals = literalSets[next];
+        next = (next + 1) % literalSets.length;
+        return index.test(literals);
+    }
+
+    @Benchmark
+    public void update() {
+        final int[] literals = literalSets[next];
+        next = (next + 1) % literalSets.length;
+        final int configuration = next % index.size();
+        for (int literal : literals) {
+            index.update(configuration, literal);
+        }
+    }
+}
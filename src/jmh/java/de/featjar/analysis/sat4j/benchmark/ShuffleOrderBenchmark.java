@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.data.Result;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures shuffling the decision order and setting the selection strategy before each call of
+ * {@link SAT4JSolutionSolver#hasSolution()}, as done for every solution of random sampling computations.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleOrderBenchmark {
+
+    @Param({"GPL/model.xml", "random-200", "random-2000"})
+    public String formula;
+
+    @Param({"original", "positive", "random"})
+    public String strategy;
+
+    private SAT4JSolutionSolver solver;
+    private ISelectionStrategy selectionStrategy;
+    private Random random;
+
+    @Setup
+    public void setup() {
+        FeatJAR.testConfiguration().initialize();
+        solver = new SAT4JSolutionSolver(BenchmarkFormulas.load(formula));
+        random = new Random(0);
+        switch (strategy) {
+            case "positive":
+                selectionStrategy = ISelectionStrategy.positive();
+                break;
+            case "random":
+                selectionStrategy = ISelectionStrategy.random(random);
+                break;
+            default:
+                selectionStrategy = ISelectionStrategy.original();
+                break;
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public Result<Boolean> shuffleAndSolve() {
+        solver.shuffleOrder(random);
+        solver.setSelectionStrategy(selectionStrategy);
+        return solver.hasSolution();
+    }
+
+    @Benchmark
+    public Result<Boolean> solve() {
+        return solver.hasSolution();
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.benchmark;
+
+import de.featjar.analysis.sat4j.solver.SAT4JClauseList;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the initialization of a solver, that is, loading all clauses into {@link SAT4JClauseList} and Sat4J,
+ * as well as removing clauses in reverse order, as done by analyses that temporarily add clauses.
+ *
+ * @author Sebastian Krieter
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverInitializationBenchmark {
+
+    @Param({"GPL/model.xml", "random-2000"})
+    public String formula;
+
+    private BooleanAssignmentList clauseList;
+    private List<BooleanAssignment> clauses;
+
+    @Setup
+    public void setup() {
+        FeatJAR.testConfiguration().initialize();
+        clauseList = BenchmarkFormulas.load(formula);
+        clauses = clauseList.getAll();
+    }
+
+    @TearDown
+    public void tearDown() {
+        FeatJAR.deinitialize();
+    }
+
+    @Benchmark
+    public SAT4JSolutionSolver construct() {
+        return new SAT4JSolutionSolver(clauseList);
+    }
+
+    @Benchmark
+    public SAT4JSolutionSolver addAndRemove() {
+        final SAT4JSolutionSolver solver =
+                new SAT4JSolutionSolver(new BooleanAssignmentList(clauseList.getVariableMap()));
+        final SAT4JClauseList solverClauses = solver.getClauseList();
+        solverClauses.addAll(clauses);
+        for (int i = clauses.size(); i > 0; i--) {
+            solverClauses.remove();
+        }
+        return solver;
+    }
+}
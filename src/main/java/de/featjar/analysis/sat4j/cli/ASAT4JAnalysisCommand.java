@@ -58,18 +58,37 @@ public abstract class ASAT4JAnalysisCommand<T> extends AAnalysisCommand<T> {
 
     @Override
     protected IComputation<T> newComputation(OptionList optionParser) {
-        Path inputPath = optionParser.getResult(INPUT_OPTION).orElseThrow();
-        IComputation<BooleanAssignmentList> computation = IO.load(
-                        inputPath, BooleanAssignmentGroupsFormats.getInstance())
+        return newAnalysis(optionParser, newClauseListComputation(optionParser));
+    }
+
+    /**
+     * Creates a computation of the clause list for the input file.
+     * Sets {@link #variableMap} when computed.
+     *
+     * @param optionParser the parsed options
+     * @return the clause list computation
+     */
+    protected IComputation<BooleanAssignmentList> newClauseListComputation(OptionList optionParser) {
+        return newClauseListComputation(optionParser.getResult(INPUT_OPTION).orElseThrow())
+                .peekResult(getClass(), "variableMap", clauseList -> variableMap = clauseList.getVariableMap());
+    }
+
+    /**
+     * Creates a computation of the clause list for the given file, which contains either a CNF as a list of boolean
+     * assignments (e.g., in DIMACS format) or an arbitrary formula.
+     *
+     * @param inputPath the path of the file
+     * @return the clause list computation
+     */
+    protected static IComputation<BooleanAssignmentList> newClauseListComputation(Path inputPath) {
+        return IO.load(inputPath, BooleanAssignmentGroupsFormats.getInstance())
                 .map(cnf -> (IComputation<BooleanAssignmentList>)
                         Computations.of(cnf.getFirstGroup().toClauseList()))
                 .orElseGet(() -> IO.load(inputPath, FormulaFormats.getInstance())
                         .toComputation()
                         .map(ComputeNNFFormula::new)
                         .map(ComputeCNFFormula::new)
-                        .map(ComputeBooleanClauseList::new))
-                .peekResult(getClass(), "variableMap", clauseList -> variableMap = clauseList.getVariableMap());
-        return newAnalysis(optionParser, computation);
+                        .map(ComputeBooleanClauseList::new));
     }
 
     protected abstract IComputation<T> newAnalysis(
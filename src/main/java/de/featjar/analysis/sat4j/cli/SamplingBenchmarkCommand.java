@@ -0,0 +1,350 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.cli;
+
+import de.featjar.analysis.sat4j.computation.ComputeConstraintedTWiseCoverage;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.YASA;
+import de.featjar.analysis.sat4j.computation.YASALegacy;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.cli.ACommand;
+import de.featjar.base.cli.ListOption;
+import de.featjar.base.cli.Option;
+import de.featjar.base.cli.OptionList;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Result;
+import de.featjar.formula.CoverageStatistic;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.combination.VariableCombinationSpecification.VariableCombinationSpecificationComputation;
+import de.featjar.formula.computation.AComputeTWiseCoverage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Runs sampling algorithms on a corpus of formulas and reports sample size, runtime, peak heap usage, number of solver
+ * calls, and t-wise coverage for each run, such that the results of two versions can be compared.
+ *
+ * @author Sebastian Krieter
+ */
+public class SamplingBenchmarkCommand extends ACommand {
+
+    private static final String YASA_NAME = "yasa";
+    private static final String YASA_LEGACY_NAME = "yasa-legacy";
+    private static final String SOLUTIONS_NAME = "solutions-sat4j";
+
+    /**
+     * Values of t.
+     */
+    public static final ListOption<Integer> T_OPTION = (ListOption<Integer>) Option.newListOption(
+                    "t", Option.IntegerParser) //
+            .setDescription("Values of parameter t.") //
+            .setDefaultValue(List.of(1, 2, 3));
+
+    /**
+     * Algorithms to run.
+     */
+    public static final ListOption<String> ALGORITHMS_OPTION = (ListOption<String>) Option.newListOption(
+                    "algorithms", Option.StringParser) //
+            .setDescription("Algorithms to run (" + YASA_NAME + ", " + YASA_LEGACY_NAME + ", " + SOLUTIONS_NAME + ").")
+            .setDefaultValue(List.of(YASA_NAME, YASA_LEGACY_NAME, SOLUTIONS_NAME));
+
+    /**
+     * Number of random solutions generated by the solutions algorithm.
+     */
+    public static final Option<Integer> SOLUTIONS_LIMIT_OPTION = Option.newOption(
+                    "solutions-limit", Option.IntegerParser) //
+            .setDescription("Number of random configurations generated by " + SOLUTIONS_NAME + ".") //
+            .setDefaultValue(100);
+
+    /**
+     * Number of repetitions of each run.
+     */
+    public static final Option<Integer> REPETITIONS_OPTION = Option.newOption("repetitions", Option.IntegerParser) //
+            .setDescription("Number of repetitions of each run, each with a different seed.") //
+            .setDefaultValue(1);
+
+    /**
+     * Option for setting the seed for the pseudo random generator.
+     */
+    public static final Option<Long> RANDOM_SEED_OPTION = Option.newOption("seed", Option.LongParser) //
+            .setDescription("Seed of the first repetition.") //
+            .setDefaultValue(1L);
+
+    /**
+     * Output format of the measurements.
+     */
+    public static final Option<String> FORMAT = Option.newStringEnumOption("format", List.of("csv", "json"))
+            .setDefaultValue("csv")
+            .setDescription("Format of the output");
+
+    private static final class Measurement {
+        private final String model;
+        private final String algorithm;
+        private final int t;
+        private final int repetition;
+        private final int sampleSize;
+        private final long timeMillis;
+        private final long peakHeapBytes;
+        private final long solverCalls;
+        private final double coverage;
+
+        private Measurement(
+                String model,
+                String algorithm,
+                int t,
+                int repetition,
+                int sampleSize,
+                long timeMillis,
+                long peakHeapBytes,
+                long solverCalls,
+                double coverage) {
+            this.model = model;
+            this.algorithm = algorithm;
+            this.t = t;
+            this.repetition = repetition;
+            this.sampleSize = sampleSize;
+            this.timeMillis = timeMillis;
+            this.peakHeapBytes = peakHeapBytes;
+            this.solverCalls = solverCalls;
+            this.coverage = coverage;
+        }
+    }
+
+    @Override
+    public int run(OptionList optionParser) {
+        Path inputPath = optionParser.getResult(INPUT_OPTION).orElseThrow();
+        Path outputPath = optionParser.getResult(OUTPUT_OPTION).orElse(null);
+        List<Integer> tValues = optionParser.get(T_OPTION);
+        List<String> algorithms = optionParser.get(ALGORITHMS_OPTION);
+        for (String algorithm : algorithms) {
+            if (!List.of(YASA_NAME, YASA_LEGACY_NAME, SOLUTIONS_NAME).contains(algorithm)) {
+                FeatJAR.log().error("Unknown algorithm " + algorithm);
+                return FeatJAR.ERROR_COMPUTING_RESULT;
+            }
+        }
+        int solutionsLimit = optionParser.get(SOLUTIONS_LIMIT_OPTION);
+        int repetitions = optionParser.get(REPETITIONS_OPTION);
+        long seed = optionParser.get(RANDOM_SEED_OPTION);
+
+        List<Path> models;
+        try {
+            models = listModels(inputPath);
+        } catch (IOException e) {
+            FeatJAR.log().error(e);
+            return FeatJAR.ERROR_COMPUTING_RESULT;
+        }
+
+        List<Measurement> measurements = new ArrayList<>();
+        for (Path model : models) {
+            Result<BooleanAssignmentList> clauseList =
+                    ASAT4JAnalysisCommand.newClauseListComputation(model).computeResult();
+            if (clauseList.isEmpty()) {
+                FeatJAR.log().problems(clauseList.getProblems());
+                FeatJAR.log().error("Couldn't load " + model);
+                continue;
+            }
+            for (int t : tValues) {
+                for (String algorithm : algorithms) {
+                    for (int repetition = 0; repetition < repetitions; repetition++) {
+                        FeatJAR.log().info("%s %s t=%d #%d", model, algorithm, t, repetition);
+                        Measurement measurement = measure(
+                                model.toString(),
+                                clauseList.get(),
+                                algorithm,
+                                t,
+                                repetition,
+                                seed + repetition,
+                                solutionsLimit);
+                        if (measurement != null) {
+                            measurements.add(measurement);
+                        }
+                    }
+                }
+            }
+        }
+
+        String text = "json".equals(optionParser.get(FORMAT)) ? toJSON(measurements) : toCSV(measurements);
+        try {
+            if (outputPath == null || outputPath.toString().equals("results")) {
+                FeatJAR.log().message(text);
+            } else {
+                Files.writeString(outputPath, text, StandardCharsets.UTF_8);
+            }
+        } catch (IOException | RuntimeException e) {
+            FeatJAR.log().error(e);
+            return FeatJAR.ERROR_WRITING_RESULT;
+        }
+        return 0;
+    }
+
+    private static List<Path> listModels(Path inputPath) throws IOException {
+        if (!Files.isDirectory(inputPath)) {
+            return List.of(inputPath);
+        }
+        try (Stream<Path> files = Files.list(inputPath)) {
+            return files.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+        }
+    }
+
+    private static IComputation<BooleanAssignmentList> newSampleComputation(
+            BooleanAssignmentList clauseList, String algorithm, int t, long seed, int solutionsLimit) {
+        switch (algorithm) {
+            case YASA_NAME:
+                return Computations.of(clauseList)
+                        .map(YASA::new)
+                        .set(
+                                YASA.COMBINATION_SET,
+                                Computations.of(clauseList)
+                                        .map(VariableCombinationSpecificationComputation::new)
+                                        .set(VariableCombinationSpecificationComputation.T, t))
+                        .set(YASA.RANDOM_SEED, seed);
+            case YASA_LEGACY_NAME:
+                return Computations.of(clauseList)
+                        .map(YASALegacy::new)
+                        .set(YASALegacy.T, t)
+                        .set(YASALegacy.RANDOM_SEED, seed);
+            case SOLUTIONS_NAME:
+                return Computations.of(clauseList)
+                        .map(ComputeSolutionsSAT4J::new)
+                        .set(ComputeSolutionsSAT4J.SELECTION_STRATEGY, ISelectionStrategy.Strategy.FAST_RANDOM)
+                        .set(ComputeSolutionsSAT4J.LIMIT, solutionsLimit)
+                        .set(ComputeSolutionsSAT4J.RANDOM_SEED, seed);
+            default:
+                throw new IllegalArgumentException(algorithm);
+        }
+    }
+
+    private static Measurement measure(
+            String model,
+            BooleanAssignmentList clauseList,
+            String algorithm,
+            int t,
+            int repetition,
+            long seed,
+            int solutionsLimit) {
+        IComputation<BooleanAssignmentList> computation =
+                newSampleComputation(clauseList, algorithm, t, seed, solutionsLimit);
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .collect(Collectors.toList());
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+        long solverCalls = SAT4JSolver.getTotalCallCount();
+        long start = System.nanoTime();
+        // bypass the cache, such that each repetition is actually computed
+        Result<BooleanAssignmentList> sample = computation.computeResult(false, false);
+        long timeMillis = (System.nanoTime() - start) / 1_000_000;
+        solverCalls = SAT4JSolver.getTotalCallCount() - solverCalls;
+        long peakHeapBytes = heapPools.stream()
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+
+        if (sample.isEmpty()) {
+            FeatJAR.log().problems(sample.getProblems());
+            FeatJAR.log().error("Couldn't compute sample for " + model + " with " + algorithm);
+            return null;
+        }
+        CoverageStatistic statistic = Computations.of(sample.get())
+                .map(ComputeConstraintedTWiseCoverage::new)
+                .set(ComputeConstraintedTWiseCoverage.BOOLEAN_CLAUSE_LIST, clauseList)
+                .set(
+                        AComputeTWiseCoverage.COMBINATION_SET,
+                        new VariableCombinationSpecificationComputation(
+                                Computations.of(clauseList), Computations.of(t)))
+                .compute();
+        return new Measurement(
+                model,
+                algorithm,
+                t,
+                repetition,
+                sample.get().size(),
+                timeMillis,
+                peakHeapBytes,
+                solverCalls,
+                statistic.coverage());
+    }
+
+    private static String toCSV(List<Measurement> measurements) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("model;algorithm;t;repetition;sampleSize;timeMillis;peakHeapBytes;solverCalls;coverage\n");
+        for (Measurement m : measurements) {
+            sb.append(m.model.replace(';', '_')).append(';');
+            sb.append(m.algorithm).append(';');
+            sb.append(m.t).append(';');
+            sb.append(m.repetition).append(';');
+            sb.append(m.sampleSize).append(';');
+            sb.append(m.timeMillis).append(';');
+            sb.append(m.peakHeapBytes).append(';');
+            sb.append(m.solverCalls).append(';');
+            sb.append(String.format(Locale.ROOT, "%.6f", m.coverage)).append('\n');
+        }
+        return sb.toString();
+    }
+
+    private static String toJSON(List<Measurement> measurements) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("[\n");
+        for (int i = 0; i < measurements.size(); i++) {
+            Measurement m = measurements.get(i);
+            sb.append("  {");
+            sb.append("\"model\": \"")
+                    .append(m.model.replace("\\", "\\\\").replace("\"", "\\\""))
+                    .append("\", ");
+            sb.append("\"algorithm\": \"").append(m.algorithm).append("\", ");
+            sb.append("\"t\": ").append(m.t).append(", ");
+            sb.append("\"repetition\": ").append(m.repetition).append(", ");
+            sb.append("\"sampleSize\": ").append(m.sampleSize).append(", ");
+            sb.append("\"timeMillis\": ").append(m.timeMillis).append(", ");
+            sb.append("\"peakHeapBytes\": ").append(m.peakHeapBytes).append(", ");
+            sb.append("\"solverCalls\": ").append(m.solverCalls).append(", ");
+            sb.append("\"coverage\": ").append(String.format(Locale.ROOT, "%.6f", m.coverage));
+            sb.append(i + 1 < measurements.size() ? "},\n" : "}\n");
+        }
+        sb.append("]\n");
+        return sb.toString();
+    }
+
+    @Override
+    public Optional<String> getDescription() {
+        return Optional.of(
+                "Runs sampling algorithms on a formula or all formulas in a directory and reports size, runtime, peak heap, solver calls, and t-wise coverage.");
+    }
+
+    @Override
+    public Optional<String> getShortName() {
+        return Optional.of("sampling-benchmark");
+    }
+}
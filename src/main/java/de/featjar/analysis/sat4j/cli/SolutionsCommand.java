@@ -21,15 +21,30 @@
 package de.featjar.analysis.sat4j.cli;
 
 import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J.DuplicateElimination;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J.SolutionIterator;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
 import de.featjar.base.cli.Option;
 import de.featjar.base.cli.OptionList;
 import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Result;
 import de.featjar.base.io.format.IFormat;
+import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignmentGroups;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
 import de.featjar.formula.io.BooleanAssignmentGroupsFormats;
 import de.featjar.formula.io.csv.BooleanAssignmentGroupsUngroupedCSVFormat;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
 import java.util.Optional;
 
 /**
@@ -40,6 +55,12 @@ import java.util.Optional;
  */
 public class SolutionsCommand extends ASAT4JAnalysisCommand<BooleanAssignmentGroups> {
 
+    private static final String VALUE_SEPARATOR = ";";
+    private static final String POSITIVE_VALUE = "+";
+    private static final String NEGATIVE_VALUE = "-";
+    private static final String NULL_VALUE = "0";
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
     /**
      * Maximum number of configurations to be generated.
      */
@@ -61,6 +82,21 @@ public class SolutionsCommand extends ASAT4JAnalysisCommand<BooleanAssignmentGro
     public static final Option<Boolean> FORBID_DUPLICATES_OPTION = Option.newFlag("no-duplicates") //
             .setDescription("Forbid dublicate configurations to be generated.");
 
+    /**
+     * Strategy to avoid duplicate configurations (%s).
+     */
+    public static final Option<DuplicateElimination> DUPLICATE_ELIMINATION_OPTION = Option.newEnumOption(
+                    "duplicate-elimination", DuplicateElimination.class) //
+            .setDescription("Strategy to avoid duplicate configurations, if duplicates are forbidden.") //
+            .setDefaultValue(DuplicateElimination.SOLUTION_BLOCKING_CLAUSE);
+
+    /**
+     * Write configurations while they are computed.
+     */
+    public static final Option<Boolean> STREAM_OPTION = Option.newFlag("stream") //
+            .setDescription(
+                    "Write configurations while they are computed instead of collecting them first (CSV only).");
+
     public static final Option<String> FORMAT = Option.newStringEnumOption(
                     "format", BooleanAssignmentGroupsFormats.getInstance().getNames())
             .setDefaultValue(new BooleanAssignmentGroupsUngroupedCSVFormat().getName())
@@ -78,6 +114,9 @@ public class SolutionsCommand extends ASAT4JAnalysisCommand<BooleanAssignmentGro
                 .set(
                         ComputeSolutionsSAT4J.FORBID_DUPLICATES,
                         optionParser.getResult(FORBID_DUPLICATES_OPTION).get())
+                .set(
+                        ComputeSolutionsSAT4J.DUPLICATE_ELIMINATION,
+                        optionParser.getResult(DUPLICATE_ELIMINATION_OPTION).get())
                 .set(
                         ComputeSolutionsSAT4J.LIMIT,
                         optionParser.getResult(LIMIT_OPTION).get())
@@ -93,6 +132,95 @@ public class SolutionsCommand extends ASAT4JAnalysisCommand<BooleanAssignmentGro
                 .mapResult(SolutionsCommand.class, "group", BooleanAssignmentGroups::new);
     }
 
+    @Override
+    public int run(OptionList optionParser) {
+        if (!optionParser.get(STREAM_OPTION)) {
+            return super.run(optionParser);
+        }
+        IFormat<BooleanAssignmentGroups> format = getOuputFormat(optionParser);
+        if (!(format instanceof BooleanAssignmentGroupsUngroupedCSVFormat)) {
+            FeatJAR.log()
+                    .error("Streaming requires format " + new BooleanAssignmentGroupsUngroupedCSVFormat().getName());
+            return FeatJAR.ERROR_WRITING_RESULT;
+        }
+        Result<BooleanAssignmentList> clauseList =
+                newClauseListComputation(optionParser).computeResult(true, true);
+        if (clauseList.isEmpty()) {
+            FeatJAR.log().problems(clauseList.getProblems());
+            FeatJAR.log().error("Couldn't compute result.");
+            return FeatJAR.ERROR_COMPUTING_RESULT;
+        }
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList.get());
+        solver.setTimeout(optionParser.getResult(SAT_TIMEOUT_OPTION).get());
+        solver.setGlobalTimeout(true);
+        SolutionIterator iterator = new SolutionIterator(
+                solver,
+                optionParser.getResult(SELECTION_STRATEGY_OPTION).get(),
+                optionParser.getResult(FORBID_DUPLICATES_OPTION).get()
+                        ? optionParser.getResult(DUPLICATE_ELIMINATION_OPTION).get()
+                        : null,
+                optionParser.getResult(RANDOM_SEED_OPTION).get());
+        int limit = optionParser.getResult(LIMIT_OPTION).get();
+
+        // as without streaming, write to the output file if one is given and to the console otherwise
+        Path outputPath = optionParser.getResult(OUTPUT_OPTION).orElse(null);
+        try {
+            Writer writer = outputPath == null
+                    ? new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8))
+                    : Files.newBufferedWriter(outputPath, StandardCharsets.UTF_8);
+            try {
+                writeSolutions(writer, format, clauseList.get().getVariableMap(), iterator, limit);
+            } finally {
+                if (outputPath == null) {
+                    writer.flush();
+                } else {
+                    writer.close();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            FeatJAR.log().error(e);
+            return FeatJAR.ERROR_WRITING_RESULT;
+        }
+        if (solver.isTimeoutOccurred()) {
+            FeatJAR.log().warning("Solver timeout occurred, result is a subset.");
+        }
+        return 0;
+    }
+
+    /**
+     * Writes each solution as soon as it is computed, one CSV line per solution.
+     * The header is serialized by the given format. Each line contains the index of the solution followed by
+     * {@code +}, {@code -}, or {@code 0} for each variable, as written by
+     * {@link BooleanAssignmentGroupsUngroupedCSVFormat}.
+     *
+     * @param writer the writer
+     * @param format the format of the header
+     * @param variableMap the variables of the solutions
+     * @param solutions the solutions
+     * @param limit the maximum number of solutions to write
+     * @throws IOException if the writer fails
+     */
+    static void writeSolutions(
+            Writer writer,
+            IFormat<BooleanAssignmentGroups> format,
+            VariableMap variableMap,
+            Iterator<BooleanSolution> solutions,
+            int limit)
+            throws IOException {
+        writer.write(format.serialize(new BooleanAssignmentGroups(new BooleanAssignmentList(variableMap)))
+                .orElseThrow());
+        int variableCount = variableMap.size();
+        for (int id = 0; id < limit && solutions.hasNext(); id++) {
+            int[] literals = solutions.next().get();
+            writer.write(String.valueOf(id));
+            for (int i = 0; i < variableCount; i++) {
+                writer.write(VALUE_SEPARATOR);
+                writer.write(literals[i] > 0 ? POSITIVE_VALUE : literals[i] < 0 ? NEGATIVE_VALUE : NULL_VALUE);
+            }
+            writer.write(LINE_SEPARATOR);
+        }
+    }
+
     @Override
     protected IFormat<BooleanAssignmentGroups> getOuputFormat(OptionList optionParser) {
         return BooleanAssignmentGroupsFormats.getInstance()
@@ -23,6 +23,7 @@ package de.featjar.analysis.sat4j.computation;
 import de.featjar.analysis.sat4j.solver.SAT4JExplanationSolver;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.analysis.sat4j.solver.SolverMetrics;
 import de.featjar.base.computation.AComputation;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
@@ -41,6 +42,14 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
             Dependency.newDependency(BooleanAssignmentList.class);
     public static final Dependency<Duration> SAT_TIMEOUT = Dependency.newDependency(Duration.class);
     public static final Dependency<Long> RANDOM_SEED = Dependency.newDependency(Long.class);
+    /**
+     * The metrics that record all solver calls of a computation, that is, of all solvers created with
+     * {@link #createSolver(List, boolean)} or {@link #createStreamingSolver(List)}.
+     * To obtain the metrics of a computation, pass a new instance for each computation. As the instance is part of
+     * the dependencies, a cached result is only reused for the same instance, which already contains its metrics.
+     * By default, calls are not recorded (see {@link SolverMetrics#NONE}).
+     */
+    public static final Dependency<SolverMetrics> SOLVER_METRICS = Dependency.newDependency(SolverMetrics.class);
 
     public ASAT4JAnalysis(IComputation<BooleanAssignmentList> booleanClauseList, Object... computations) {
         super(
@@ -49,6 +58,7 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
                 Computations.of(new BooleanAssignmentList(null, 0)),
                 Computations.of(Duration.ZERO),
                 Computations.of(1L),
+                Computations.of(SolverMetrics.NONE),
                 computations);
     }
 
@@ -71,6 +81,44 @@ public abstract class ASAT4JAnalysis<T> extends AComputation<T> {
         @SuppressWarnings("unchecked")
         U solver = (U) newSolver(empty ? new BooleanAssignmentList(clauseList.getVariableMap()) : clauseList);
         SAT4JSolver.initializeSolver(solver, clauseList, assumedAssignment, assumedClauseList, timeout);
+        solver.setSharedMetrics(SOLVER_METRICS.get(dependencyList));
+        return solver;
+    }
+
+    /**
+     * Creates a solver that loads the clauses directly into Sat4J without copying the clause list (see
+     * {@link SAT4JSolver#createStreaming(BooleanAssignmentList, java.util.function.Function)}).
+     * The clauses are permanent and not contained in the clause list of the solver.
+     * Thus, this method is meant for the worker solvers of parallel analyses, which only remove clauses they added
+     * themselves.
+     *
+     * @param <U> the type of the solver
+     * @param dependencyList the dependency list
+     * @return a new solver
+     */
+    public <U extends SAT4JSolver> U createStreamingSolver(List<Object> dependencyList) {
+        return createStreamingSolver(dependencyList, BOOLEAN_CLAUSE_LIST.get(dependencyList));
+    }
+
+    /**
+     * Creates a solver that loads the given clauses directly into Sat4J instead of the clauses of the analysis (see
+     * {@link #createStreamingSolver(List)}), e.g., a subset of the clauses of the analysis.
+     *
+     * @param <U> the type of the solver
+     * @param dependencyList the dependency list
+     * @param clauseList the clauses to load
+     * @return a new solver
+     */
+    public <U extends SAT4JSolver> U createStreamingSolver(
+            List<Object> dependencyList, BooleanAssignmentList clauseList) {
+        BooleanAssignment assumedAssignment = ASSUMED_ASSIGNMENT.get(dependencyList);
+        BooleanAssignmentList assumedClauseList = ASSUMED_CLAUSE_LIST.get(dependencyList);
+        Duration timeout = SAT_TIMEOUT.get(dependencyList);
+
+        @SuppressWarnings("unchecked")
+        U solver = (U) SAT4JSolver.createStreaming(clauseList, this::newSolver);
+        SAT4JSolver.initializeSolver(solver, clauseList, assumedAssignment, assumedClauseList, timeout);
+        solver.setSharedMetrics(SOLVER_METRICS.get(dependencyList));
         return solver;
     }
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Approximates the number of solutions of a CNF with the ApproxMC algorithm.
+ * In each round, the smallest number of random XOR constraints over the variables of interest for which the number of
+ * solutions in the resulting cell drops below a threshold is searched, as in ApproxMC2. This cell size is then scaled
+ * by the number of cells (see {@link XORHashing}).
+ * The result is the median of all rounds, which are independent and computed in parallel.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeApproximateSolutionCountSAT4J extends ASAT4JAnalysis.Solution<SolutionCountEstimate> {
+
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * The tolerance of the estimate, i.e., the actual count lies within a factor of {@code 1 + epsilon}.
+     */
+    public static final Dependency<Double> EPSILON = Dependency.newDependency(Double.class);
+    /**
+     * The confidence of the estimate, i.e., the estimate is within the tolerance with probability
+     * {@code 1 - delta}.
+     */
+    public static final Dependency<Double> DELTA = Dependency.newDependency(Double.class);
+    /**
+     * The number of threads. Values less than one use all available processors.
+     */
+    public static final Dependency<Integer> THREAD_COUNT = Dependency.newDependency(Integer.class);
+
+    public ComputeApproximateSolutionCountSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(
+                clauseList,
+                Computations.of(new BooleanAssignment()),
+                Computations.of(0.8),
+                Computations.of(0.2),
+                Computations.of(0));
+    }
+
+    protected ComputeApproximateSolutionCountSAT4J(ComputeApproximateSolutionCountSAT4J other) {
+        super(other);
+    }
+
+    @Override
+    public Result<SolutionCountEstimate> compute(List<Object> dependencyList, Progress progress) {
+        final double epsilon = EPSILON.get(dependencyList);
+        final double delta = DELTA.get(dependencyList);
+        final long seed = RANDOM_SEED.get(dependencyList);
+        int threadCount = THREAD_COUNT.get(dependencyList);
+        if (threadCount < 1) {
+            threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+
+        BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+        final int[] variables;
+        if (variablesOfInterest.isEmpty()) {
+            variables = new int[BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap().size()];
+            for (int i = 0; i < variables.length; i++) {
+                variables[i] = i + 1;
+            }
+        } else {
+            variables = IntStream.of(variablesOfInterest.get()).map(Math::abs).distinct().toArray();
+        }
+
+        final int threshold = (int)
+                Math.ceil(1 + 9.84 * (1 + epsilon / (1 + epsilon)) * (1 + 1 / epsilon) * (1 + 1 / epsilon));
+        final int roundCount = (int) Math.ceil(17 * Math.log(3 / delta) / Math.log(2));
+        progress.setTotalSteps(roundCount + 1);
+
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+        int solutionCount = countUpTo(solver, variables, threshold);
+        progress.incrementCurrentStep();
+        if (solutionCount < threshold) {
+            return Result.of(new SolutionCountEstimate(BigInteger.valueOf(solutionCount), epsilon, delta, true));
+        }
+
+        final List<BigInteger> estimates = new ArrayList<>(roundCount);
+        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<BigInteger>> futures = new ArrayList<>(roundCount);
+            for (int i = 0; i < roundCount; i++) {
+                final Random random = new Random(seed + i);
+                futures.add(threadPool.submit(() -> computeRound(
+                        new XORHashing(createStreamingSolver(dependencyList)), variables, threshold, random)));
+            }
+            for (Future<BigInteger> future : futures) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                try {
+                    BigInteger estimate = future.get();
+                    if (estimate != null) {
+                        estimates.add(estimate);
+                    }
+                } catch (InterruptedException | ExecutionException e) {
+                    return Result.empty(e);
+                }
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+        if (estimates.isEmpty()) {
+            return Result.empty(new IllegalStateException("All hashing rounds failed"));
+        }
+        estimates.sort(null);
+        return Result.of(new SolutionCountEstimate(estimates.get(estimates.size() / 2), epsilon, delta, false));
+    }
+
+    /**
+     * Searches the smallest number of random XOR constraints for which the number of solutions drops below the
+     * threshold. All tested cells are defined by prefixes of one sequence of XOR constraints, such that the cell size
+     * is monotone in the number of constraints. The search first doubles the number of constraints until the cell is
+     * small enough and then bisects between the last two tested numbers.
+     *
+     * @return the estimated number of solutions, or {@code null} if the round failed
+     */
+    private BigInteger computeRound(XORHashing hashing, int[] variables, int threshold, Random random) {
+        final List<XORHashing.XOR> xors = new ArrayList<>();
+        try {
+            int low = 0;
+            int high;
+            int highCount;
+            int xorCount = 1;
+            while (true) {
+                final int cellCount = countCell(hashing, xors, xorCount, variables, threshold, random);
+                if (cellCount < threshold) {
+                    high = xorCount;
+                    highCount = cellCount;
+                    break;
+                } else if (xorCount == variables.length) {
+                    return null;
+                }
+                low = xorCount;
+                xorCount = Math.min(2 * xorCount, variables.length);
+            }
+            while (high - low > 1) {
+                final int middle = (low + high) >>> 1;
+                final int cellCount = countCell(hashing, xors, middle, variables, threshold, random);
+                if (cellCount < threshold) {
+                    high = middle;
+                    highCount = cellCount;
+                } else {
+                    low = middle;
+                }
+            }
+            return highCount == 0 ? null : BigInteger.valueOf(highCount).shiftLeft(high);
+        } finally {
+            hashing.clear();
+        }
+    }
+
+    /**
+     * Counts the solutions of the cell defined by the first {@code xorCount} XOR constraints of the given list, which
+     * is extended by new random constraints as needed.
+     *
+     * @return the number of solutions, at most the given limit
+     */
+    private int countCell(
+            XORHashing hashing, List<XORHashing.XOR> xors, int xorCount, int[] variables, int limit, Random random) {
+        checkCancel();
+        while (xors.size() < xorCount) {
+            xors.add(XORHashing.randomXOR(variables, random));
+        }
+        hashing.setPrefix(xors, xorCount);
+        return countUpTo(hashing.getSolver(), variables, limit);
+    }
+
+    /**
+     * Counts distinct solutions w.r.t. the given variables by adding blocking clauses, which are removed afterwards.
+     *
+     * @return the number of solutions, at most the given limit
+     */
+    private int countUpTo(SAT4JSolutionSolver solver, int[] variables, int limit) {
+        int count = 0;
+        try {
+            while (count < limit) {
+                checkCancel();
+                final Result<Boolean> hasSolution = solver.hasSolution();
+                if (hasSolution.isEmpty()) {
+                    throw new RuntimeTimeoutException();
+                } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                    break;
+                }
+                final int[] model = solver.getInternalSolution();
+                final int[] blockingClause = new int[variables.length];
+                for (int i = 0; i < variables.length; i++) {
+                    blockingClause[i] = -model[variables[i] - 1];
+                }
+                solver.getClauseList().add(blockingClause);
+                count++;
+            }
+        } finally {
+            for (int i = 0; i < count; i++) {
+                solver.getClauseList().remove();
+            }
+        }
+        return count;
+    }
+}
@@ -22,7 +22,9 @@ package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.RuntimeTimeoutException;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.WitnessStore;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
@@ -32,9 +34,7 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
 
@@ -50,9 +50,13 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
     public static final Dependency<Boolean> OMIT_SINGLE_SETS = Dependency.newDependency(Boolean.class);
     public static final Dependency<Boolean> OMIT_CORE = Dependency.newDependency(Boolean.class);
     public static final Dependency<Boolean> OMIT_COMPLEMENTS = Dependency.newDependency(Boolean.class);
+    /**
+     * The maximum number of witness solutions stored for filtering candidates.
+     */
+    public static final Dependency<Integer> WITNESS_LIMIT = Dependency.newDependency(Integer.class);
 
-    private List<BitSet> solutions;
-    private int variableCount, bitSetSize;
+    private WitnessStore witnesses;
+    private int lastWitness;
 
     private Random random;
 
@@ -62,7 +66,8 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
                 Computations.of(new BooleanAssignment()),
                 Computations.of(Boolean.FALSE),
                 Computations.of(Boolean.FALSE),
-                Computations.of(Boolean.FALSE));
+                Computations.of(Boolean.FALSE),
+                Computations.of(1024));
     }
 
     protected ComputeAtomicSetsSAT4J(ComputeAtomicSetsSAT4J other) {
@@ -85,18 +90,20 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
         boolean omitComplements = OMIT_COMPLEMENTS.get(dependencyList);
 
         final BooleanAssignmentList atomicSets = new BooleanAssignmentList(variableMap);
-        variableCount = variableMap.size();
-        bitSetSize = 2 * variableCount;
-        solutions = new ArrayList<>();
+        int variableCount = variableMap.size();
+        witnesses = new WitnessStore(variableCount, WITNESS_LIMIT.get(dependencyList));
 
         BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
-        final BitSet undecided = new BitSet(bitSetSize);
+        final long[] undecided = witnesses.newLiteralSet();
         if (variables.isEmpty()) {
-            undecided.flip(0, bitSetSize);
+            for (int v = 1; v <= variableCount; v++) {
+                WitnessStore.add(undecided, v);
+                WitnessStore.add(undecided, -v);
+            }
         } else {
             for (int var : variables.get()) {
-                undecided.set(var - 1);
-                undecided.set((var - 1) + variableCount);
+                WitnessStore.add(undecided, Math.abs(var));
+                WitnessStore.add(undecided, -Math.abs(var));
             }
         }
         checkCancel();
@@ -110,13 +117,12 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
         progress.incrementCurrentStep();
         checkCancel();
 
-        BitSet commonLiterals = new BitSet(bitSetSize);
-        commonLiterals.xor(addSolution(solver.getInternalSolution(), 0));
+        witnesses.add(solver.getInternalSolution());
 
         solver.setSelectionStrategy(
                 ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
         if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-            commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+            witnesses.add(solver.getInternalSolution());
             solver.shuffleOrder(random);
         } else {
             throw new RuntimeTimeoutException();
@@ -129,24 +135,25 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
         int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
         for (int i = 0; i < log; i++) {
             if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+                witnesses.add(solver.getInternalSolution());
                 solver.shuffleOrder(random);
             } else {
                 throw new RuntimeTimeoutException();
             }
         }
 
-        commonLiterals.and(undecided);
+        long[] commonLiterals = Arrays.copyOf(undecided, undecided.length);
+        witnesses.filterCommon(commonLiterals);
 
         ExpandableIntegerList core = new ExpandableIntegerList();
-        for (int i = 0; i < bitSetSize; i += 2) {
+        for (int v = 1; v <= variableCount; v++) {
             progress.incrementCurrentStep();
             checkCancel();
             final int potentialCoreLiteral;
-            if (commonLiterals.get(i)) {
-                potentialCoreLiteral = (i >> 1) + 1;
-            } else if (commonLiterals.get(i + 1)) {
-                potentialCoreLiteral = -((i >> 1) + 1);
+            if (WitnessStore.contains(commonLiterals, v)) {
+                potentialCoreLiteral = v;
+            } else if (WitnessStore.contains(commonLiterals, -v)) {
+                potentialCoreLiteral = -v;
             } else {
                 continue;
             }
@@ -155,12 +162,12 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
             if (hasSolution.isEmpty()) {
                 throw new RuntimeTimeoutException();
             } else if (hasSolution.valueEquals(Boolean.FALSE)) {
-                undecided.clear(i);
-                undecided.clear(i + 1);
+                WitnessStore.remove(undecided, v);
+                WitnessStore.remove(undecided, -v);
                 core.add(potentialCoreLiteral);
                 solver.getClauseList().add(potentialCoreLiteral);
             } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+                witnesses.filterRow(witnesses.add(solver.getInternalSolution()), commonLiterals);
                 solver.shuffleOrder(random);
             }
             solver.getAssignment().remove();
@@ -168,49 +175,33 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
         if (!omitCore) {
             atomicSets.add(new BooleanAssignment(core.toArray()));
         }
-        for (int vi = 0; vi < bitSetSize; vi += 2) {
+        for (int v = 1; v <= variableCount; v++) {
             progress.incrementCurrentStep();
             checkCancel();
-            if (undecided.get(vi)) {
-                int v = (vi >> 1) + 1;
-
+            if (WitnessStore.contains(undecided, v)) {
                 ExpandableIntegerList atomicSet = new ExpandableIntegerList();
                 atomicSet.add(v);
-                undecided.clear(vi);
-                undecided.clear(vi + 1);
-
-                commonLiterals = new BitSet(bitSetSize);
-                commonLiterals.xor(undecided);
-
-                for (BitSet solution : solutions) {
-                    if (solution.get(vi)) {
-                        commonLiterals.and(solution);
-                    } else {
-                        commonLiterals.andNot(solution);
-                    }
-                    if (commonLiterals.isEmpty()) {
-                        break;
-                    }
-                }
-
-                int ui = vi;
-                while ((ui = commonLiterals.nextSetBit(ui + 2)) >= 0) {
-                    final int u;
-                    if (((ui & 1) == 0)) {
-                        u = (ui >> 1) + 1;
-                    } else {
-                        if (omitComplements) {
-                            ui--;
+                WitnessStore.remove(undecided, v);
+                WitnessStore.remove(undecided, -v);
+
+                commonLiterals = Arrays.copyOf(undecided, undecided.length);
+                witnesses.filterEquivalent(v, commonLiterals);
+
+                for (int wordIndex = 0; wordIndex < commonLiterals.length; wordIndex++) {
+                    while (commonLiterals[wordIndex] != 0) {
+                        final int bit = Long.numberOfTrailingZeros(commonLiterals[wordIndex]);
+                        commonLiterals[wordIndex] &= ~(1L << bit);
+                        final int u = ModalImplicationGraph.getLiteral((wordIndex << 6) + bit);
+                        if (u < 0 && omitComplements) {
                             continue;
-                        } else {
-                            u = -((ui >> 1) + 1);
-                            ui--;
                         }
-                    }
-                    if (unsat(solver, -v, u) && unsat(solver, v, -u)) {
-                        atomicSet.add(u);
-                        undecided.clear(ui);
-                        undecided.clear(ui + 1);
+                        if (unsat(solver, -v, u) && unsat(solver, v, -u)) {
+                            atomicSet.add(u);
+                            WitnessStore.remove(undecided, u);
+                            WitnessStore.remove(undecided, -u);
+                        } else if (lastWitness >= 0) {
+                            witnesses.filterEquivalent(lastWitness, v, commonLiterals);
+                        }
                     }
                 }
 
@@ -220,12 +211,13 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
             }
         }
 
-        solutions = null;
+        witnesses = null;
         random = null;
         return Result.of(atomicSets);
     }
 
     private boolean unsat(SAT4JSolutionSolver solver, final int v, int u) {
+        lastWitness = -1;
         solver.getAssignment().add(v);
         solver.getAssignment().add(u);
         try {
@@ -233,7 +225,7 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
             if (hasSolution.isEmpty()) {
                 return false;
             } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                addSolution(solver.getInternalSolution(), Math.abs(v));
+                lastWitness = witnesses.add(solver.getInternalSolution());
                 solver.shuffleOrder(random);
                 return false;
             }
@@ -243,15 +235,4 @@ public class ComputeAtomicSetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssig
             solver.getAssignment().remove();
         }
     }
-
-    private BitSet addSolution(final int[] solution, int min) {
-        BitSet bitSetSolution = new BitSet(bitSetSize);
-        solutions.add(bitSetSolution);
-        for (int i = min; i < variableCount; i++) {
-            boolean b = solution[i] > 0;
-            bitSetSolution.set(i << 1, b);
-            bitSetSolution.set((i << 1) + 1, !b);
-        }
-        return bitSetSolution;
-    }
 }
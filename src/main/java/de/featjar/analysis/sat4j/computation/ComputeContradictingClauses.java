@@ -20,13 +20,18 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JAssignment;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
 import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -36,13 +41,23 @@ import java.util.List;
  * from it. Otherwise it is kept as part of the formula for the
  * remaining analysis. Clauses are added in the same order a they appear in the
  * given clauses list.
+ * <p>
+ * With {@link #SELECTOR_VARIABLES}, each clause is guarded by a fresh selector variable and enabled via assumptions
+ * instead of being added to and removed from the solver, which keeps learned clauses.
+ * The first contradicting clause within the remaining clauses is then located by repeatedly
+ * shrinking the range of enabled clauses to the failed assumptions of the solver.
  *
  * @author Sebastian Krieter
  */
 public class ComputeContradictingClauses extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
 
+    /**
+     * Whether to guard each clause by a selector variable instead of adding and removing it.
+     */
+    public static final Dependency<Boolean> SELECTOR_VARIABLES = Dependency.newDependency(Boolean.class);
+
     public ComputeContradictingClauses(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList);
+        super(clauseList, Computations.of(Boolean.FALSE));
     }
 
     protected ComputeContradictingClauses(ComputeContradictingClauses other) {
@@ -53,6 +68,9 @@ public class ComputeContradictingClauses extends ASAT4JAnalysis.Solution<Boolean
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
         BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
         SAT4JSolutionSolver solver = createSolver(dependencyList, true);
+        if (SELECTOR_VARIABLES.get(dependencyList)) {
+            return Result.of(computeWithSelectors(solver, clauseList));
+        }
         final ArrayList<BooleanAssignment> result = new ArrayList<>();
 
         for (BooleanAssignment clause : clauseList) {
@@ -70,4 +88,76 @@ public class ComputeContradictingClauses extends ASAT4JAnalysis.Solution<Boolean
 
         return Result.of(new BooleanAssignmentList(clauseList.getVariableMap(), result));
     }
+
+    private BooleanAssignmentList computeWithSelectors(SAT4JSolutionSolver solver, BooleanAssignmentList clauseList) {
+        final List<BooleanAssignment> clauses = clauseList.getAll();
+        final int clauseCount = clauses.size();
+        final int firstSelector = solver.addVariables(clauseCount);
+        solver.setSelectionStrategy(ISelectionStrategy.original());
+        for (int i = 0; i < clauseCount; i++) {
+            final int[] literals = clauses.get(i).get();
+            final int[] guardedLiterals = Arrays.copyOf(literals, literals.length + 1);
+            guardedLiterals[literals.length] = -(firstSelector + i);
+            solver.getClauseList().add(guardedLiterals);
+        }
+
+        final SAT4JAssignment assignment = solver.getAssignment();
+        final boolean[] contradicting = new boolean[clauseCount];
+        int start = 0;
+        while (start < clauseCount) {
+            checkCancel();
+            final int keptSize = assignment.size();
+            int end = clauseCount;
+            while (end > start) {
+                for (int i = start; i < end; i++) {
+                    assignment.add(firstSelector + i);
+                }
+                Result<Boolean> hasSolution = solver.hasSolution();
+                assignment.clear(keptSize);
+                if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    break;
+                } else if (hasSolution.isEmpty()) {
+                    end = -1;
+                    break;
+                }
+                int lastFailedClause = -1;
+                for (int literal : solver.getUnsatExplanation()) {
+                    final int clauseIndex = Math.abs(literal) - firstSelector;
+                    if (clauseIndex >= start && clauseIndex < end) {
+                        lastFailedClause = Math.max(lastFailedClause, clauseIndex);
+                    }
+                }
+                end = lastFailedClause;
+                if (end < 0) {
+                    break;
+                }
+            }
+
+            if (end < 0) {
+                // no usable explanation, check the next clause on its own
+                assignment.add(firstSelector + start);
+                if (solver.hasSolution().valueEquals(Boolean.FALSE)) {
+                    assignment.remove();
+                    contradicting[start] = true;
+                }
+                start++;
+            } else {
+                for (int i = start; i < end; i++) {
+                    assignment.add(firstSelector + i);
+                }
+                if (end < clauseCount) {
+                    contradicting[end] = true;
+                }
+                start = end + 1;
+            }
+        }
+
+        final ArrayList<BooleanAssignment> result = new ArrayList<>();
+        for (int i = 0; i < clauseCount; i++) {
+            if (contradicting[i]) {
+                result.add(clauses.get(i));
+            }
+        }
+        return new BooleanAssignmentList(clauseList.getVariableMap(), result);
+    }
 }
@@ -23,6 +23,7 @@ package de.featjar.analysis.sat4j.computation;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.ComputeConstant;
+import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
@@ -37,15 +38,20 @@ import java.util.Random;
 
 /**
  * Finds core and dead features.
+ * If {@link #CHUNK_SIZE} is greater than one, candidate literals are tested in
+ * chunks by adding a single clause that negates the whole chunk. If this clause
+ * is unsatisfiable, all literals of the chunk are core. Otherwise, the found
+ * solution removes at least one candidate and the chunk is tested again.
  *
  * @author Sebastian Krieter
  */
 public class ComputeCoreSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignment> {
     protected static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
             Dependency.newDependency(BooleanAssignment.class);
+    public static final Dependency<Integer> CHUNK_SIZE = Dependency.newDependency(Integer.class);
 
     public ComputeCoreSAT4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList, new ComputeConstant<>(new BooleanAssignment()));
+        super(clauseList, new ComputeConstant<>(new BooleanAssignment()), Computations.of(1));
     }
 
     protected ComputeCoreSAT4J(ComputeCoreSAT4J other) {
@@ -57,6 +63,7 @@ public class ComputeCoreSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignment>
         SAT4JSolutionSolver solver = createSolver(dependencyList);
         Random random = new Random(RANDOM_SEED.get(dependencyList));
         BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+        int chunkSize = CHUNK_SIZE.get(dependencyList);
         VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
         int variableCount = variableMap.size();
 
@@ -93,25 +100,72 @@ public class ComputeCoreSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignment>
             }
         }
 
-        for (int i = 0; i < variableCount; i++) {
-            progress.incrementCurrentStep();
+        if (chunkSize > 1) {
+            testChunks(solver, random, potentialCore, chunkSize, progress);
+        } else {
+            for (int i = 0; i < variableCount; i++) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                testLiteral(solver, random, potentialCore, potentialCore[i]);
+            }
+        }
+
+        return solver.createResult(solver.getAssignment().toAssignment());
+    }
+
+    private void testChunks(
+            SAT4JSolutionSolver solver, Random random, int[] potentialCore, int chunkSize, Progress progress) {
+        final int[] chunk = new int[chunkSize];
+        int i = 0;
+        while (i < potentialCore.length) {
             checkCancel();
-            final int l = potentialCore[i];
-            if (l != 0) {
-                solver.getAssignment().add(-l);
-                hasSolution = solver.hasSolution();
+            int chunkLength = 0;
+            int end = i;
+            for (; end < potentialCore.length && chunkLength < chunkSize; end++) {
+                final int l = potentialCore[end];
+                if (l != 0) {
+                    chunk[chunkLength++] = -l;
+                }
+            }
+            if (chunkLength == 1) {
+                testLiteral(solver, random, potentialCore, -chunk[0]);
+            } else if (chunkLength > 1) {
+                solver.getClauseList().add(Arrays.copyOf(chunk, chunkLength));
+                Result<Boolean> hasSolution = solver.hasSolution();
+                solver.getClauseList().remove();
                 if (hasSolution.valueEquals(false)) {
-                    solver.getAssignment().replaceLast(l);
+                    for (int j = 0; j < chunkLength; j++) {
+                        solver.getAssignment().add(-chunk[j]);
+                    }
                 } else if (hasSolution.isEmpty()) {
-                    solver.getAssignment().remove();
+                    for (int j = 0; j < chunkLength; j++) {
+                        testLiteral(solver, random, potentialCore, potentialCore[Math.abs(chunk[j]) - 1]);
+                    }
                 } else if (hasSolution.valueEquals(true)) {
-                    solver.getAssignment().remove();
                     BooleanSolution.removeConflictsInplace(potentialCore, solver.getInternalSolution());
                     solver.shuffleOrder(random);
+                    continue;
                 }
             }
+            for (; i < end; i++) {
+                progress.incrementCurrentStep();
+            }
         }
+    }
 
-        return solver.createResult(solver.getAssignment().toAssignment());
+    private void testLiteral(SAT4JSolutionSolver solver, Random random, int[] potentialCore, int l) {
+        if (l != 0) {
+            solver.getAssignment().add(-l);
+            Result<Boolean> hasSolution = solver.hasSolution();
+            if (hasSolution.valueEquals(false)) {
+                solver.getAssignment().replaceLast(l);
+            } else if (hasSolution.isEmpty()) {
+                solver.getAssignment().remove();
+            } else if (hasSolution.valueEquals(true)) {
+                solver.getAssignment().remove();
+                BooleanSolution.removeConflictsInplace(potentialCore, solver.getInternalSolution());
+                solver.shuffleOrder(random);
+            }
+        }
     }
 }
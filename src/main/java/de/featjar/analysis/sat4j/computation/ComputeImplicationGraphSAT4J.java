@@ -0,0 +1,268 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.RuntimeContradictionException;
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ImplicationGraph;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.WitnessStore;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.ExpandableIntegerList;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Finds all implications between literals and returns them as an {@link ImplicationGraph}.
+ * The result can be added to a {@link ModalImplicationGraph} via {@link ModalImplicationGraph#addStrongEdges(ImplicationGraph)}.
+ * After computing the core, the implications of each literal are computed in parallel,
+ * using one solver and one bounded {@link WitnessStore} per thread.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeImplicationGraphSAT4J extends ASAT4JAnalysis.Solution<ImplicationGraph> {
+
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * The maximum number of witness solutions stored per thread.
+     */
+    public static final Dependency<Integer> WITNESS_LIMIT = Dependency.newDependency(Integer.class);
+    /**
+     * The number of threads. Values less than one use all available processors.
+     */
+    public static final Dependency<Integer> THREAD_COUNT = Dependency.newDependency(Integer.class);
+    /**
+     * Whether to return the transitive reduction of the implications (see {@link ImplicationGraph#reduce()}).
+     */
+    public static final Dependency<Boolean> TRANSITIVE_REDUCTION = Dependency.newDependency(Boolean.class);
+
+    private static class Worker {
+        private final SAT4JSolutionSolver solver;
+        private final WitnessStore witnesses;
+        private final Random random;
+
+        private Worker(SAT4JSolutionSolver solver, WitnessStore witnesses, Random random) {
+            this.solver = solver;
+            this.witnesses = witnesses;
+            this.random = random;
+        }
+    }
+
+    public ComputeImplicationGraphSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(
+                clauseList,
+                Computations.of(new BooleanAssignment()),
+                Computations.of(1024),
+                Computations.of(0),
+                Computations.of(Boolean.FALSE));
+    }
+
+    protected ComputeImplicationGraphSAT4J(ComputeImplicationGraphSAT4J other) {
+        super(other);
+    }
+
+    @Override
+    protected SAT4JSolutionSolver newSolver(BooleanAssignmentList clauseList) {
+        return new SAT4JSolutionSolver(clauseList, true);
+    }
+
+    @Override
+    public Result<ImplicationGraph> compute(List<Object> dependencyList, Progress progress) {
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+        long seed = RANDOM_SEED.get(dependencyList);
+        Random random = new Random(seed);
+        int variableCount = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap().size();
+        int witnessLimit = WITNESS_LIMIT.get(dependencyList);
+        int threadCount = THREAD_COUNT.get(dependencyList);
+        if (threadCount < 1) {
+            threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+
+        WitnessStore witnesses = new WitnessStore(variableCount, witnessLimit);
+        long[] undecided = witnesses.newLiteralSet();
+        BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
+        if (variables.isEmpty()) {
+            for (int v = 1; v <= variableCount; v++) {
+                WitnessStore.add(undecided, v);
+                WitnessStore.add(undecided, -v);
+            }
+        } else {
+            for (int v : variables.get()) {
+                WitnessStore.add(undecided, Math.abs(v));
+                WitnessStore.add(undecided, -Math.abs(v));
+            }
+        }
+        checkCancel();
+        progress.setTotalSteps(3 * variableCount + 2);
+
+        solver.setSelectionStrategy(ISelectionStrategy.positive());
+        Result<Boolean> hasSolution = solver.hasSolution();
+        if (hasSolution.isEmpty()) {
+            return hasSolution.nullify();
+        } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+            return Result.empty(new RuntimeContradictionException("CNF is not satisfiable!"));
+        }
+        witnesses.add(solver.getInternalSolution());
+        progress.incrementCurrentStep();
+        checkCancel();
+
+        solver.setSelectionStrategy(
+                ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
+        addWitness(solver, witnesses, random);
+        progress.incrementCurrentStep();
+        checkCancel();
+
+        solver.setSelectionStrategy(ISelectionStrategy.random(random));
+        int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
+        for (int i = 0; i < log; i++) {
+            addWitness(solver, witnesses, random);
+        }
+
+        long[] commonLiterals = Arrays.copyOf(undecided, undecided.length);
+        witnesses.filterCommon(commonLiterals);
+
+        ExpandableIntegerList core = new ExpandableIntegerList();
+        for (int v = 1; v <= variableCount; v++) {
+            progress.incrementCurrentStep();
+            checkCancel();
+            final int potentialCoreLiteral;
+            if (WitnessStore.contains(commonLiterals, v)) {
+                potentialCoreLiteral = v;
+            } else if (WitnessStore.contains(commonLiterals, -v)) {
+                potentialCoreLiteral = -v;
+            } else {
+                continue;
+            }
+            solver.getAssignment().add(-potentialCoreLiteral);
+            hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                throw new RuntimeTimeoutException();
+            } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                WitnessStore.remove(undecided, v);
+                WitnessStore.remove(undecided, -v);
+                core.add(potentialCoreLiteral);
+            } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                witnesses.filterRow(witnesses.add(solver.getInternalSolution()), commonLiterals);
+                solver.shuffleOrder(random);
+            }
+            solver.getAssignment().remove();
+        }
+        int[] coreLiterals = core.toArray();
+
+        final int[][] implications = new int[2 * variableCount][];
+        final ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> {
+            SAT4JSolutionSolver workerSolver = createStreamingSolver(dependencyList);
+            for (int l : coreLiterals) {
+                workerSolver.getClauseList().add(l);
+            }
+            Random workerRandom = new Random(seed + Thread.currentThread().getId());
+            workerSolver.setSelectionStrategy(ISelectionStrategy.random(workerRandom));
+            return new Worker(workerSolver, new WitnessStore(witnesses), workerRandom);
+        });
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<?>> futures = new ArrayList<>(2 * variableCount);
+            for (int i = 0; i < 2 * variableCount; i++) {
+                final int literal = ModalImplicationGraph.getLiteral(i);
+                if (WitnessStore.contains(undecided, literal)) {
+                    final int vertexIndex = i;
+                    futures.add(threadPool.submit(() -> {
+                        implications[vertexIndex] = computeImplications(workers.get(), literal, undecided);
+                    }));
+                }
+            }
+            for (Future<?> future : futures) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                try {
+                    future.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    return Result.empty(e);
+                }
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+        ImplicationGraph implicationGraph = ImplicationGraph.of(variableCount, implications);
+        return Result.of(TRANSITIVE_REDUCTION.get(dependencyList) ? implicationGraph.reduce() : implicationGraph);
+    }
+
+    private int[] computeImplications(Worker worker, int literal, long[] undecided) {
+        checkCancel();
+        final long[] candidates = Arrays.copyOf(undecided, undecided.length);
+        WitnessStore.remove(candidates, literal);
+        WitnessStore.remove(candidates, -literal);
+        worker.witnesses.filterImplied(literal, candidates);
+
+        final ExpandableIntegerList implied = new ExpandableIntegerList();
+        for (int wordIndex = 0; wordIndex < candidates.length; wordIndex++) {
+            while (candidates[wordIndex] != 0) {
+                final int bit = Long.numberOfTrailingZeros(candidates[wordIndex]);
+                final int candidate = ModalImplicationGraph.getLiteral((wordIndex << 6) + bit);
+                candidates[wordIndex] &= ~(1L << bit);
+
+                worker.solver.getAssignment().add(literal);
+                worker.solver.getAssignment().add(-candidate);
+                try {
+                    Result<Boolean> hasSolution = worker.solver.hasSolution();
+                    if (hasSolution.isEmpty()) {
+                        throw new RuntimeTimeoutException();
+                    } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                        implied.add(candidate);
+                    } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                        worker.witnesses.filterRow(
+                                worker.witnesses.add(worker.solver.getInternalSolution()), candidates);
+                        worker.solver.shuffleOrder(worker.random);
+                    }
+                } finally {
+                    worker.solver.getAssignment().remove();
+                    worker.solver.getAssignment().remove();
+                }
+            }
+        }
+        return implied.toArray();
+    }
+
+    private void addWitness(SAT4JSolutionSolver solver, WitnessStore witnesses, Random random) {
+        if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
+            witnesses.add(solver.getInternalSolution());
+            solver.shuffleOrder(random);
+        } else {
+            throw new RuntimeTimeoutException();
+        }
+    }
+}
@@ -22,7 +22,10 @@ package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.RuntimeTimeoutException;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ImplicationGraph;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.WitnessStore;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
@@ -32,9 +35,7 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.BitSet;
 import java.util.List;
 import java.util.Random;
 
@@ -49,9 +50,17 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
             Dependency.newDependency(BooleanAssignment.class);
     public static final Dependency<Boolean> OMIT_SINGLE_SETS = Dependency.newDependency(Boolean.class);
     public static final Dependency<Boolean> OMIT_CORE = Dependency.newDependency(Boolean.class);
-
-    private List<BitSet> solutions;
-    private int variableCount, bitSetSize;
+    /**
+     * Whether to return the transitive reduction of the implications instead of all implied literals.
+     */
+    public static final Dependency<Boolean> TRANSITIVE_REDUCTION = Dependency.newDependency(Boolean.class);
+    /**
+     * The maximum number of witness solutions stored for filtering candidates.
+     */
+    public static final Dependency<Integer> WITNESS_LIMIT = Dependency.newDependency(Integer.class);
+
+    private WitnessStore witnesses;
+    private int lastWitness;
 
     private Random random;
 
@@ -60,7 +69,9 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
                 clauseList,
                 Computations.of(new BooleanAssignment()),
                 Computations.of(Boolean.FALSE),
-                Computations.of(Boolean.FALSE));
+                Computations.of(Boolean.FALSE),
+                Computations.of(Boolean.FALSE),
+                Computations.of(1024));
     }
 
     protected ComputeImplicationsSAT4J(ComputeImplicationsSAT4J other) {
@@ -80,20 +91,23 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
 
         boolean omitCore = OMIT_CORE.get(dependencyList);
         boolean omitSingles = OMIT_SINGLE_SETS.get(dependencyList);
+        boolean transitiveReduction = TRANSITIVE_REDUCTION.get(dependencyList);
 
         final BooleanAssignmentList implications = new BooleanAssignmentList(variableMap);
-        variableCount = variableMap.size();
-        bitSetSize = 2 * variableCount;
-        solutions = new ArrayList<>();
+        int variableCount = variableMap.size();
+        witnesses = new WitnessStore(variableCount, WITNESS_LIMIT.get(dependencyList));
 
         BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
-        final BitSet undecided = new BitSet(bitSetSize);
+        final long[] undecided = witnesses.newLiteralSet();
         if (variables.isEmpty()) {
-            undecided.flip(0, bitSetSize);
+            for (int v = 1; v <= variableCount; v++) {
+                WitnessStore.add(undecided, v);
+                WitnessStore.add(undecided, -v);
+            }
         } else {
             for (int var : variables.get()) {
-                undecided.set(var - 1);
-                undecided.set((var - 1) + variableCount);
+                WitnessStore.add(undecided, Math.abs(var));
+                WitnessStore.add(undecided, -Math.abs(var));
             }
         }
         checkCancel();
@@ -107,13 +121,12 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
         progress.incrementCurrentStep();
         checkCancel();
 
-        BitSet commonLiterals = new BitSet(bitSetSize);
-        commonLiterals.xor(addSolution(solver.getInternalSolution(), 0));
+        witnesses.add(solver.getInternalSolution());
 
         solver.setSelectionStrategy(
                 ISelectionStrategy.inverse(Arrays.copyOf(solver.getInternalSolution(), variableCount)));
         if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-            commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+            witnesses.add(solver.getInternalSolution());
             solver.shuffleOrder(random);
         } else {
             throw new RuntimeTimeoutException();
@@ -126,24 +139,25 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
         int log = (8 * Integer.BYTES) - Integer.numberOfLeadingZeros(variableCount);
         for (int i = 0; i < log; i++) {
             if (solver.hasSolution().valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+                witnesses.add(solver.getInternalSolution());
                 solver.shuffleOrder(random);
             } else {
                 throw new RuntimeTimeoutException();
             }
         }
 
-        commonLiterals.and(undecided);
+        long[] commonLiterals = Arrays.copyOf(undecided, undecided.length);
+        witnesses.filterCommon(commonLiterals);
 
         ExpandableIntegerList core = new ExpandableIntegerList();
-        for (int i = 0; i < bitSetSize; i += 2) {
+        for (int v = 1; v <= variableCount; v++) {
             progress.incrementCurrentStep();
             checkCancel();
             final int potentialCoreLiteral;
-            if (commonLiterals.get(i)) {
-                potentialCoreLiteral = (i >> 1) + 1;
-            } else if (commonLiterals.get(i + 1)) {
-                potentialCoreLiteral = -((i >> 1) + 1);
+            if (WitnessStore.contains(commonLiterals, v)) {
+                potentialCoreLiteral = v;
+            } else if (WitnessStore.contains(commonLiterals, -v)) {
+                potentialCoreLiteral = -v;
             } else {
                 continue;
             }
@@ -152,12 +166,12 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
             if (hasSolution.isEmpty()) {
                 throw new RuntimeTimeoutException();
             } else if (hasSolution.valueEquals(Boolean.FALSE)) {
-                undecided.clear(i);
-                undecided.clear(i + 1);
+                WitnessStore.remove(undecided, v);
+                WitnessStore.remove(undecided, -v);
                 core.add(potentialCoreLiteral);
                 solver.getClauseList().add(potentialCoreLiteral);
             } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                commonLiterals.and(addSolution(solver.getInternalSolution(), 0));
+                witnesses.filterRow(witnesses.add(solver.getInternalSolution()), commonLiterals);
                 solver.shuffleOrder(random);
             }
             solver.getAssignment().remove();
@@ -165,57 +179,58 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
         if (!omitCore) {
             implications.add(new BooleanAssignment(core.toArray()));
         }
-        for (int vi = 0; vi < bitSetSize; vi += 2) {
+        final int[][] implicationSets = new int[2 * variableCount][];
+        for (int v = 1; v <= variableCount; v++) {
             progress.incrementCurrentStep();
             checkCancel();
-            if (undecided.get(vi)) {
-                int v = (vi >> 1) + 1;
-
+            if (WitnessStore.contains(undecided, v)) {
                 ExpandableIntegerList implicationSet = new ExpandableIntegerList();
-                implicationSet.add(v);
-                undecided.clear(vi);
-
-                commonLiterals = new BitSet(bitSetSize);
-                commonLiterals.xor(undecided);
-
-                for (BitSet solution : solutions) {
-                    if (solution.get(vi)) {
-                        commonLiterals.and(solution);
-                        if (commonLiterals.isEmpty()) {
-                            break;
+                WitnessStore.remove(undecided, v);
+
+                commonLiterals = Arrays.copyOf(undecided, undecided.length);
+                WitnessStore.remove(commonLiterals, -v);
+                witnesses.filterImplied(v, commonLiterals);
+
+                for (int wordIndex = 0; wordIndex < commonLiterals.length; wordIndex++) {
+                    while (commonLiterals[wordIndex] != 0) {
+                        final int bit = Long.numberOfTrailingZeros(commonLiterals[wordIndex]);
+                        commonLiterals[wordIndex] &= ~(1L << bit);
+                        final int u = ModalImplicationGraph.getLiteral((wordIndex << 6) + bit);
+                        if (unsat(solver, v, -u)) {
+                            implicationSet.add(u);
+                        } else if (lastWitness >= 0) {
+                            witnesses.filterRow(lastWitness, commonLiterals);
                         }
                     }
                 }
 
-                int ui = commonLiterals.nextSetBit(0);
-                while (ui >= 0) {
-                    final int u;
-                    if (((ui & 1) == 0)) {
-                        u = (ui >> 1) + 1;
-                    } else {
-                        u = -((ui >> 1) + 1);
-                        ui--;
-                    }
-                    if (unsat(solver, v, -u)) {
-                        implicationSet.add(u);
-                    } else {
-                        commonLiterals.and(solutions.get(solutions.size() - 1));
-                    }
-                    ui = commonLiterals.nextSetBit(ui + 2);
-                }
+                implicationSets[ModalImplicationGraph.getVertexIndex(v)] = implicationSet.toArray();
+            }
+        }
 
-                if (!omitSingles || implicationSet.size() > 1) {
-                    implications.add(new BooleanAssignment(implicationSet.toArray()));
+        ImplicationGraph implicationGraph = ImplicationGraph.of(variableCount, implicationSets);
+        if (transitiveReduction) {
+            implicationGraph = implicationGraph.reduce();
+        }
+        for (int v = 1; v <= variableCount; v++) {
+            if (implicationSets[ModalImplicationGraph.getVertexIndex(v)] != null) {
+                int[] implied = implicationGraph.getImplications(v);
+                if (!omitSingles || implied.length > 0) {
+                    int[] implicationSet = new int[implied.length + 1];
+                    implicationSet[0] = v;
+                    System.arraycopy(implied, 0, implicationSet, 1, implied.length);
+                    implications.add(new BooleanAssignment(implicationSet));
                 }
             }
         }
 
-        solutions = null;
+        witnesses = null;
         random = null;
         return Result.of(implications);
     }
 
     private boolean unsat(SAT4JSolutionSolver solver, final int v, int u) {
+        lastWitness = -1;
         solver.getAssignment().add(v);
         solver.getAssignment().add(u);
         try {
@@ -223,7 +238,7 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
             if (hasSolution.isEmpty()) {
                 return false;
             } else if (hasSolution.valueEquals(Boolean.TRUE)) {
-                addSolution(solver.getInternalSolution(), 0);
+                lastWitness = witnesses.add(solver.getInternalSolution());
                 solver.shuffleOrder(random);
                 return false;
             }
@@ -233,15 +248,4 @@ public class ComputeImplicationsSAT4J extends ASAT4JAnalysis.Solution<BooleanAss
             solver.getAssignment().remove();
         }
     }
-
-    private BitSet addSolution(final int[] solution, int min) {
-        BitSet bitSetSolution = new BitSet(bitSetSize);
-        solutions.add(bitSetSolution);
-        for (int i = min; i < variableCount; i++) {
-            boolean b = solution[i] > 0;
-            bitSetSolution.set(i << 1, b);
-            bitSetSolution.set((i << 1) + 1, !b);
-        }
-        return bitSetSolution;
-    }
 }
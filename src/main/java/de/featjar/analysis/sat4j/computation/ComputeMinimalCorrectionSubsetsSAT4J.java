@@ -0,0 +1,254 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.SAT4JAssignment;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.ExpandableIntegerList;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Computes minimal correction subsets (MCS) of the assumed assignment, that is, minimal sets of assumed literals
+ * that must be retracted such that the remaining assumed literals are consistent with the given clauses.
+ * If the assumed assignment is consistent, the result is empty.
+ * <p>
+ * The search space is split into disjoint parts, which are processed in parallel.
+ * The k-th part contains all MCS whose first literal (w.r.t. the order of the assumed assignment) is the k-th
+ * assumed literal. Thus, all preceding literals are assumed to hold and the k-th literal is assumed to be false.
+ * Within each part, correction subsets are found by linear search over the remaining literals,
+ * adding all literals satisfied by each found solution at once, and are then blocked for further search.
+ * Each found subset is finally verified to be minimal w.r.t. all assumed literals.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeMinimalCorrectionSubsetsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
+
+    /**
+     * The maximum number of computed subsets. Values less than one compute all subsets.
+     */
+    public static final Dependency<Integer> LIMIT = Dependency.newDependency(Integer.class);
+    /**
+     * The number of threads. Values less than one use all available processors.
+     */
+    public static final Dependency<Integer> THREAD_COUNT = Dependency.newDependency(Integer.class);
+
+    public ComputeMinimalCorrectionSubsetsSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(clauseList, Computations.of(0), Computations.of(0));
+    }
+
+    protected ComputeMinimalCorrectionSubsetsSAT4J(ComputeMinimalCorrectionSubsetsSAT4J other) {
+        super(other);
+    }
+
+    private static class Worker {
+        private final SAT4JSolutionSolver searchSolver;
+        private final SAT4JSolutionSolver verificationSolver;
+
+        private Worker(SAT4JSolutionSolver searchSolver, SAT4JSolutionSolver verificationSolver) {
+            this.searchSolver = searchSolver;
+            this.verificationSolver = verificationSolver;
+        }
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        final int[] literals = ASSUMED_ASSIGNMENT.get(dependencyList).get();
+        final int limit = LIMIT.get(dependencyList);
+        int threadCount = THREAD_COUNT.get(dependencyList);
+        if (threadCount < 1) {
+            threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+        Result<Boolean> hasSolution = solver.hasSolution();
+        if (hasSolution.isEmpty()) {
+            return hasSolution.nullify();
+        } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+            return Result.of(new BooleanAssignmentList(clauseList.getVariableMap()));
+        }
+        progress.setTotalSteps(literals.length);
+
+        final AtomicInteger remaining = new AtomicInteger(limit > 0 ? limit : Integer.MAX_VALUE);
+        final ThreadLocal<Worker> workers = ThreadLocal.withInitial(() -> {
+            SAT4JSolutionSolver searchSolver = createStreamingSolver(dependencyList);
+            searchSolver.getAssignment().clear();
+            SAT4JSolutionSolver verificationSolver = createStreamingSolver(dependencyList);
+            verificationSolver.getAssignment().clear();
+            return new Worker(searchSolver, verificationSolver);
+        });
+
+        final List<List<BooleanAssignment>> partitions = new ArrayList<>(literals.length);
+        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<List<BooleanAssignment>>> futures = new ArrayList<>(literals.length);
+            for (int k = 0; k < literals.length; k++) {
+                final int partition = k;
+                futures.add(threadPool.submit(() -> computePartition(workers.get(), literals, partition, remaining)));
+            }
+            for (Future<List<BooleanAssignment>> future : futures) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                try {
+                    partitions.add(future.get());
+                } catch (InterruptedException | ExecutionException e) {
+                    return Result.empty(e);
+                }
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        final ArrayList<BooleanAssignment> result = new ArrayList<>();
+        for (List<BooleanAssignment> partition : partitions) {
+            for (BooleanAssignment correctionSubset : partition) {
+                if (limit > 0 && result.size() >= limit) {
+                    break;
+                }
+                result.add(correctionSubset);
+            }
+        }
+        return Result.of(new BooleanAssignmentList(clauseList.getVariableMap(), result));
+    }
+
+    private List<BooleanAssignment> computePartition(
+            Worker worker, int[] literals, int partition, AtomicInteger remaining) {
+        final List<BooleanAssignment> correctionSubsets = new ArrayList<>();
+        final SAT4JSolutionSolver solver = worker.searchSolver;
+        final SAT4JAssignment assignment = solver.getAssignment();
+        for (int i = 0; i < partition; i++) {
+            assignment.add(literals[i]);
+        }
+        assignment.add(-literals[partition]);
+        final int baseSize = assignment.size();
+        int blockingClauseCount = 0;
+        try {
+            while (remaining.get() > 0) {
+                checkCancel();
+                Result<Boolean> hasSolution = solver.hasSolution();
+                if (hasSolution.isEmpty()) {
+                    throw new RuntimeTimeoutException();
+                } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                    break;
+                }
+
+                final ExpandableIntegerList candidates = new ExpandableIntegerList();
+                int[] model = solver.getInternalSolution();
+                for (int i = partition + 1; i < literals.length; i++) {
+                    if (isSatisfied(model, literals[i])) {
+                        assignment.add(literals[i]);
+                    } else {
+                        candidates.add(literals[i]);
+                    }
+                }
+                final ExpandableIntegerList correctionSubset = new ExpandableIntegerList();
+                for (int i = 0; i < candidates.size(); i++) {
+                    final int literal = candidates.get(i);
+                    if (isSatisfied(model, literal)) {
+                        assignment.add(literal);
+                        continue;
+                    }
+                    assignment.add(literal);
+                    hasSolution = solver.hasSolution();
+                    if (hasSolution.isEmpty()) {
+                        throw new RuntimeTimeoutException();
+                    } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                        model = solver.getInternalSolution();
+                    } else {
+                        assignment.remove();
+                        correctionSubset.add(literal);
+                    }
+                }
+                assignment.clear(baseSize);
+
+                final int[] blockingClause = correctionSubset.toArray();
+                correctionSubset.add(literals[partition]);
+                if (isMinimal(worker.verificationSolver, literals, partition, correctionSubset.toArray())) {
+                    if (remaining.getAndDecrement() > 0) {
+                        correctionSubsets.add(new BooleanAssignment(correctionSubset.toArray()));
+                    }
+                }
+                if (blockingClause.length == 0) {
+                    break;
+                }
+                solver.getClauseList().add(blockingClause);
+                blockingClauseCount++;
+            }
+        } finally {
+            for (int i = 0; i < blockingClauseCount; i++) {
+                solver.getClauseList().remove();
+            }
+            assignment.clear();
+        }
+        return correctionSubsets;
+    }
+
+    /**
+     * Checks whether no literal of the given correction subset can be added back to the remaining assumed literals.
+     */
+    private boolean isMinimal(SAT4JSolutionSolver solver, int[] literals, int partition, int[] correctionSubset) {
+        final SAT4JAssignment assignment = solver.getAssignment();
+        literalLoop:
+        for (int i = 0; i < literals.length; i++) {
+            for (int retracted : correctionSubset) {
+                if (retracted == literals[i]) {
+                    continue literalLoop;
+                }
+            }
+            assignment.add(literals[i]);
+        }
+        final int baseSize = assignment.size();
+        try {
+            for (int retracted : correctionSubset) {
+                assignment.add(retracted);
+                Result<Boolean> hasSolution = solver.hasSolution();
+                assignment.clear(baseSize);
+                if (hasSolution.isEmpty()) {
+                    throw new RuntimeTimeoutException();
+                } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    return false;
+                }
+            }
+            return true;
+        } finally {
+            assignment.clear();
+        }
+    }
+
+    private static boolean isSatisfied(int[] model, int literal) {
+        final int index = Math.abs(literal) - 1;
+        return index < model.length && model[index] == literal;
+    }
+}
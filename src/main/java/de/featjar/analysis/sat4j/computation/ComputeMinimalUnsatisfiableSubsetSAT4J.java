@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.SAT4JSelectorSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Computes a minimal unsatisfiable subset of the given clauses.
+ * The assumed assignment and assumed clauses are treated as hard constraints.
+ * In contrast to {@link de.featjar.analysis.sat4j.solver.SAT4JExplanationSolver#getMinimalUnsatisfiableSubset()},
+ * the clauses are first trimmed to the unsatisfiable core reported by the solver and then minimized by deletion,
+ * refining the remaining clauses to the core of each unsatisfiable check (see {@link SAT4JSelectorSolver}).
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeMinimalUnsatisfiableSubsetSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
+
+    public ComputeMinimalUnsatisfiableSubsetSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(clauseList);
+    }
+
+    protected ComputeMinimalUnsatisfiableSubsetSAT4J(ComputeMinimalUnsatisfiableSubsetSAT4J other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        List<BooleanAssignment> clauses = clauseList.getAll();
+        SAT4JSolutionSolver solver = createSolver(dependencyList, true);
+        SAT4JSelectorSolver selectorSolver = new SAT4JSelectorSolver(solver, clauses);
+
+        final boolean[] subset = new boolean[clauses.size()];
+        Arrays.fill(subset, true);
+        Result<Boolean> hasSolution = selectorSolver.hasSolution(subset);
+        if (hasSolution.isEmpty()) {
+            return hasSolution.nullify();
+        } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+            return Result.empty(new IllegalStateException("Problem is satisfiable"));
+        }
+        checkCancel();
+        if (!selectorSolver.shrink(subset)) {
+            throw new RuntimeTimeoutException();
+        }
+
+        final ArrayList<BooleanAssignment> result = new ArrayList<>();
+        for (int i = 0; i < subset.length; i++) {
+            if (subset[i]) {
+                result.add(clauses.get(i));
+            }
+        }
+        return Result.of(new BooleanAssignmentList(clauseList.getVariableMap(), result));
+    }
+}
@@ -20,14 +20,24 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.ExpandableIntegerList;
 import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * Finds redundant clauses with respect to a given CNF. This
@@ -36,13 +46,184 @@ import java.util.List;
  * from it. Otherwise it is kept as part of the formula for the
  * remaining analysis. Clauses are added in the same order a they appear in the
  * given clauses list.
+ * <p>
+ * In partitioned mode, each clause is first checked against the full formula without this clause.
+ * These checks are independent of each other and run in parallel, one solver per partition of the clause list.
+ * Each of these solvers streams all clauses outside of its partition directly into Sat4J.
+ * Clauses that are not implied by the rest of the formula are never redundant.
+ * The remaining candidates are then checked sequentially in their original order
+ * against all non-candidates and the candidates kept so far, which resolves mutual redundancies.
+ * <p>
+ * Before calling the solver, each clause is checked by a cheap pre-pass.
+ * It tests whether the clause is subsumed by another clause, or whether propagating its negation
+ * over the unit and binary clauses (i.e., the strong edges of a {@link ModalImplicationGraph}) yields a conflict.
  *
  * @author Sebastian Krieter
  */
 public class ComputeRedundantClausesSat4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
 
+    /**
+     * Whether to check each clause against the full formula in parallel before the sequential pass.
+     */
+    public static final Dependency<Boolean> PARTITIONED = Dependency.newDependency(Boolean.class);
+    /**
+     * The number of threads used in partitioned mode. Values less than one use all available processors.
+     */
+    public static final Dependency<Integer> THREAD_COUNT = Dependency.newDependency(Integer.class);
+    /**
+     * Whether to check for subsumption and binary implications before calling the solver.
+     */
+    public static final Dependency<Boolean> PREFILTER = Dependency.newDependency(Boolean.class);
+
+    /**
+     * Detects clauses that are implied by a set of clauses without calling a solver.
+     * Each clause is indexed under its first literal for subsumption checks,
+     * binary and unit clauses are additionally stored as implications.
+     */
+    private static class Prefilter {
+        private final List<BooleanAssignment> clauses;
+        private final ExpandableIntegerList[] occurrences;
+        private final ExpandableIntegerList[] implications;
+        private final int[] units;
+        private final int[] marks;
+        private final int[] queue;
+        private int stamp;
+
+        private Prefilter(List<BooleanAssignment> clauses, int variableCount) {
+            this.clauses = clauses;
+            occurrences = new ExpandableIntegerList[2 * variableCount];
+            implications = new ExpandableIntegerList[2 * variableCount];
+            units = new int[2 * variableCount];
+            Arrays.fill(units, -1);
+            marks = new int[2 * variableCount];
+            queue = new int[2 * variableCount];
+        }
+
+        private void add(int clauseIndex) {
+            final int[] literals = clauses.get(clauseIndex).get();
+            if (literals.length == 0) {
+                return;
+            }
+            getList(occurrences, literals[0]).add(clauseIndex);
+            if (literals.length == 1) {
+                final int vertexIndex = ModalImplicationGraph.getVertexIndex(literals[0]);
+                if (units[vertexIndex] < 0) {
+                    units[vertexIndex] = clauseIndex;
+                }
+            } else if (literals.length == 2) {
+                ExpandableIntegerList edges = getList(implications, -literals[0]);
+                edges.add(literals[1]);
+                edges.add(clauseIndex);
+                edges = getList(implications, -literals[1]);
+                edges.add(literals[0]);
+                edges.add(clauseIndex);
+            }
+        }
+
+        private static ExpandableIntegerList getList(ExpandableIntegerList[] lists, int literal) {
+            final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+            ExpandableIntegerList list = lists[vertexIndex];
+            if (list == null) {
+                list = new ExpandableIntegerList();
+                lists[vertexIndex] = list;
+            }
+            return list;
+        }
+
+        /**
+         * Checks whether the clause at the given index is implied by the added clauses, ignoring the clause itself.
+         *
+         * @param clauseIndex the index of the clause
+         * @return {@code true} if the clause is implied, {@code false} if it is unknown
+         */
+        private boolean isImplied(int clauseIndex) {
+            final int[] literals = clauses.get(clauseIndex).get();
+            return isSubsumed(clauseIndex, literals) || isPropagatedToConflict(clauseIndex, literals);
+        }
+
+        private int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(marks, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
+
+        private boolean isSubsumed(int clauseIndex, int[] literals) {
+            final int currentStamp = nextStamp();
+            for (int literal : literals) {
+                marks[ModalImplicationGraph.getVertexIndex(literal)] = currentStamp;
+            }
+            for (int literal : literals) {
+                final ExpandableIntegerList candidates = occurrences[ModalImplicationGraph.getVertexIndex(literal)];
+                if (candidates != null) {
+                    candidateLoop:
+                    for (int i = 0; i < candidates.size(); i++) {
+                        final int candidateIndex = candidates.get(i);
+                        if (candidateIndex != clauseIndex) {
+                            final int[] candidateLiterals = clauses.get(candidateIndex).get();
+                            if (candidateLiterals.length <= literals.length) {
+                                for (int candidateLiteral : candidateLiterals) {
+                                    if (marks[ModalImplicationGraph.getVertexIndex(candidateLiteral)] != currentStamp) {
+                                        continue candidateLoop;
+                                    }
+                                }
+                                return true;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean isPropagatedToConflict(int clauseIndex, int[] literals) {
+            final int currentStamp = nextStamp();
+            int queueEnd = 0;
+            for (int literal : literals) {
+                if (marks[ModalImplicationGraph.getVertexIndex(-literal)] != currentStamp) {
+                    if (!assign(-literal, clauseIndex, currentStamp)) {
+                        return true;
+                    }
+                    queue[queueEnd++] = -literal;
+                }
+            }
+            for (int queueStart = 0; queueStart < queueEnd; queueStart++) {
+                final ExpandableIntegerList edges = implications[ModalImplicationGraph.getVertexIndex(queue[queueStart])];
+                if (edges != null) {
+                    for (int i = 0; i < edges.size(); i += 2) {
+                        if (edges.get(i + 1) != clauseIndex) {
+                            final int literal = edges.get(i);
+                            final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+                            if (marks[vertexIndex] != currentStamp) {
+                                if (!assign(literal, clauseIndex, currentStamp)) {
+                                    return true;
+                                }
+                                queue[queueEnd++] = literal;
+                            }
+                        }
+                    }
+                }
+            }
+            return false;
+        }
+
+        private boolean assign(int literal, int clauseIndex, int currentStamp) {
+            final int complementIndex = ModalImplicationGraph.getVertexIndex(-literal);
+            if (marks[complementIndex] == currentStamp) {
+                return false;
+            }
+            final int unit = units[complementIndex];
+            if (unit >= 0 && unit != clauseIndex) {
+                return false;
+            }
+            marks[ModalImplicationGraph.getVertexIndex(literal)] = currentStamp;
+            return true;
+        }
+    }
+
     public ComputeRedundantClausesSat4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList);
+        super(clauseList, Computations.of(Boolean.FALSE), Computations.of(0), Computations.of(Boolean.TRUE));
     }
 
     protected ComputeRedundantClausesSat4J(ComputeRedundantClausesSat4J other) {
@@ -52,25 +233,156 @@ public class ComputeRedundantClausesSat4J extends ASAT4JAnalysis.Solution<Boolea
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
         BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        List<BooleanAssignment> clauses = clauseList.getAll();
+        final int clauseCount = clauses.size();
+        final int variableCount = clauseList.getVariableMap().size();
+        final boolean prefilter = PREFILTER.get(dependencyList);
+        int solverCalls = 0;
+        int savedSolverCalls = 0;
+
+        final boolean[] candidates = new boolean[clauseCount];
         SAT4JSolutionSolver solver = createSolver(dependencyList, true);
+        Prefilter sequentialPrefilter = prefilter ? new Prefilter(clauses, variableCount) : null;
+        if (PARTITIONED.get(dependencyList)) {
+            final boolean[] implied;
+            if (prefilter) {
+                Prefilter partitionedPrefilter = new Prefilter(clauses, variableCount);
+                for (int i = 0; i < clauseCount; i++) {
+                    partitionedPrefilter.add(i);
+                }
+                implied = new boolean[clauseCount];
+                for (int i = 0; i < clauseCount; i++) {
+                    checkCancel();
+                    if (partitionedPrefilter.isImplied(i)) {
+                        implied[i] = true;
+                        savedSolverCalls++;
+                    }
+                }
+            } else {
+                implied = null;
+            }
+            solverCalls += clauseCount;
+
+            int threadCount = THREAD_COUNT.get(dependencyList);
+            if (threadCount < 1) {
+                threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+            }
+            final int partitionCount = Math.max(1, Math.min(clauseCount, 4 * threadCount));
+            final int partitionSize = (clauseCount + partitionCount - 1) / partitionCount;
+            progress.setTotalSteps(partitionCount + clauseCount);
+
+            ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+            try {
+                List<Future<?>> futures = new ArrayList<>(partitionCount);
+                for (int start = 0; start < clauseCount; start += partitionSize) {
+                    final int from = start;
+                    final int to = Math.min(clauseCount, start + partitionSize);
+                    futures.add(threadPool.submit(() -> {
+                        List<BooleanAssignment> otherClauses = new ArrayList<>(clauseCount - (to - from));
+                        otherClauses.addAll(clauses.subList(0, from));
+                        otherClauses.addAll(clauses.subList(to, clauseCount));
+                        SAT4JSolutionSolver partitionSolver = createStreamingSolver(
+                                dependencyList, new BooleanAssignmentList(clauseList.getVariableMap(), otherClauses));
+                        findCandidates(partitionSolver, clauses, implied, candidates, from, to);
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    progress.incrementCurrentStep();
+                    checkCancel();
+                    try {
+                        future.get();
+                    } catch (InterruptedException | ExecutionException e) {
+                        return Result.empty(e);
+                    }
+                }
+            } finally {
+                threadPool.shutdownNow();
+            }
+
+            for (int i = 0; i < clauseCount; i++) {
+                if (!candidates[i]) {
+                    solver.getClauseList().add(clauses.get(i));
+                    if (prefilter) {
+                        sequentialPrefilter.add(i);
+                    }
+                }
+            }
+        } else {
+            progress.setTotalSteps(clauseCount);
+            for (int i = 0; i < clauseCount; i++) {
+                candidates[i] = true;
+            }
+        }
+
         final ArrayList<BooleanAssignment> result = new ArrayList<>();
+        for (int i = 0; i < clauseCount; i++) {
+            if (candidates[i]) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                solverCalls++;
+                BooleanAssignment clause = clauses.get(i);
+                if (prefilter && sequentialPrefilter.isImplied(i)) {
+                    savedSolverCalls++;
+                    result.add(clause);
+                } else if (isImplied(solver, clause)) {
+                    result.add(clause);
+                } else {
+                    solver.getClauseList().add(clause);
+                }
+                if (prefilter) {
+                    sequentialPrefilter.add(i);
+                }
+            }
+        }
+        FeatJAR.log().debug("prefilter saved %d of %d solver calls", savedSolverCalls, solverCalls);
 
-        for (BooleanAssignment clause : clauseList) {
-            checkCancel();
+        return Result.of(new BooleanAssignmentList(clauseList.getVariableMap(), result));
+    }
 
-            solver.getClauseList().add(clause.inverse());
-            if (solver.isTrivialContradictionFound()) {
-                solver.getClauseList().remove();
-                result.add(clause);
-            } else if (solver.hasSolution().valueEquals(Boolean.FALSE)) {
+    /**
+     * Checks each clause in the given range against all other clauses of the formula.
+     * The clauses outside the range must already be part of the solver.
+     * The clauses inside the range are added and removed recursively, such that each one is checked
+     * while all others of the range are present, using O(n log n) additions for n clauses.
+     */
+    private void findCandidates(
+            SAT4JSolutionSolver solver,
+            List<BooleanAssignment> clauses,
+            boolean[] implied,
+            boolean[] candidates,
+            int from,
+            int to) {
+        checkCancel();
+        if (to - from == 1) {
+            candidates[from] = (implied != null && implied[from]) || isImplied(solver, clauses.get(from));
+        } else {
+            final int mid = (from + to) >>> 1;
+            for (int i = mid; i < to; i++) {
+                solver.getClauseList().add(clauses.get(i));
+            }
+            findCandidates(solver, clauses, implied, candidates, from, mid);
+            for (int i = mid; i < to; i++) {
                 solver.getClauseList().remove();
-                result.add(clause);
-            } else {
+            }
+            for (int i = from; i < mid; i++) {
+                solver.getClauseList().add(clauses.get(i));
+            }
+            findCandidates(solver, clauses, implied, candidates, mid, to);
+            for (int i = from; i < mid; i++) {
                 solver.getClauseList().remove();
-                solver.getClauseList().add(clause);
             }
         }
+    }
 
-        return Result.of(new BooleanAssignmentList(clauseList.getVariableMap(), result));
+    private boolean isImplied(SAT4JSolutionSolver solver, BooleanAssignment clause) {
+        final int assignmentSize = solver.getAssignment().size();
+        for (int literal : clause.get()) {
+            solver.getAssignment().add(-literal);
+        }
+        try {
+            return solver.hasSolution().valueEquals(Boolean.FALSE);
+        } finally {
+            solver.getAssignment().clear(assignmentSize);
+        }
     }
 }
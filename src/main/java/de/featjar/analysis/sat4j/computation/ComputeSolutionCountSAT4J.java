@@ -20,18 +20,52 @@
  */
 package de.featjar.analysis.sat4j.computation;
 
-import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.ExpandableIntegerList;
 import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
-import de.featjar.formula.assignment.BooleanSolution;
 import java.math.BigInteger;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
+/**
+ * Counts the solutions of a CNF.
+ * Uses DPLL-style counting with component decomposition and a component cache.
+ * After each decision, Sat4J checks whether the current partial assignment can be extended to a solution, such
+ * that unsatisfiable parts of the search space are never explored.
+ * If variables of interest are given, the count is projected to these variables, that is, the result is the number
+ * of distinct assignments to these variables that can be extended to a solution.
+ * <p>
+ * The search uses an explicit stack instead of recursion, such that its depth is only limited by the heap.
+ * The component cache holds at most {@link #CACHE_SIZE} entries and evicts the least recently used ones.
+ * <p>
+ * The result is always exact. If a solver call times out, the result is empty with a timeout problem.
+ * Previous versions enumerated solutions and returned the number found so far as a lower bound instead.
+ *
+ * @author Sebastian Krieter
+ */
 public class ComputeSolutionCountSAT4J extends ASAT4JAnalysis.Solution<BigInteger> {
+
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * The maximum number of cached component counts.
+     */
+    public static final Dependency<Integer> CACHE_SIZE = Dependency.newDependency(Integer.class);
+
     public ComputeSolutionCountSAT4J(IComputation<BooleanAssignmentList> clauseList) {
-        super(clauseList);
+        super(clauseList, Computations.of(new BooleanAssignment()), Computations.of(1 << 16));
     }
 
     protected ComputeSolutionCountSAT4J(ComputeSolutionCountSAT4J other) {
@@ -40,16 +74,398 @@ public class ComputeSolutionCountSAT4J extends ASAT4JAnalysis.Solution<BigIntege
 
     @Override
     public Result<BigInteger> compute(List<Object> dependencyList, Progress progress) {
-        SAT4JSolver solver = createSolver(dependencyList);
-        BigInteger solutionCount = BigInteger.ZERO;
-        Result<Boolean> hasSolution = solver.hasSolution();
-        while (hasSolution.equals(Result.of(true))) {
-            solutionCount = solutionCount.add(BigInteger.ONE);
-            progress.incrementCurrentStep();
-            BooleanSolution solution = solver.getSolution();
-            solver.getClauseList().add(solution.toClause().negate());
-            hasSolution = solver.hasSolution();
-        }
-        return solver.createResult(solutionCount, "result is a lower bound");
+        BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        int variableCount = clauseList.getVariableMap().size();
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+
+        final boolean[] projection = new boolean[variableCount + 1];
+        BooleanAssignment variables = VARIABLES_OF_INTEREST.get(dependencyList);
+        if (variables.isEmpty()) {
+            Arrays.fill(projection, true);
+        } else {
+            for (int variable : variables.get()) {
+                projection[Math.abs(variable)] = true;
+            }
+        }
+
+        List<int[]> clauses = new ArrayList<>();
+        for (BooleanAssignment clause : clauseList) {
+            clauses.add(clause.get());
+        }
+        for (BooleanAssignment clause : ASSUMED_CLAUSE_LIST.get(dependencyList)) {
+            clauses.add(clause.get());
+        }
+
+        Counter counter = new Counter(
+                solver, variableCount, clauses.toArray(new int[0][]), projection, CACHE_SIZE.get(dependencyList));
+        try {
+            return Result.of(counter.count(ASSUMED_ASSIGNMENT.get(dependencyList).get()));
+        } catch (RuntimeTimeoutException e) {
+            return Result.empty(de.featjar.analysis.ISolver.getTimeoutProblem(null));
+        }
+    }
+
+    private static final class ComponentKey {
+        private final int[] variables;
+        private final int[] clauses;
+        private final int hashCode;
+
+        private ComponentKey(int[] variables, int[] clauses) {
+            this.variables = variables;
+            this.clauses = clauses;
+            hashCode = 31 * Arrays.hashCode(variables) + Arrays.hashCode(clauses);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ComponentKey)) {
+                return false;
+            }
+            ComponentKey other = (ComponentKey) obj;
+            return hashCode == other.hashCode
+                    && Arrays.equals(variables, other.variables)
+                    && Arrays.equals(clauses, other.clauses);
+        }
+    }
+
+    private final class Counter {
+        private final SAT4JSolutionSolver solver;
+        private final int variableCount;
+        private final int[][] clauses;
+        private final boolean[] projection;
+        private final int[][] occurrences;
+        private final byte[] values;
+        private final int[] clauseMarks;
+        private final int[] variableMarks;
+        private final ExpandableIntegerList trail = new ExpandableIntegerList();
+        private final LinkedHashMap<ComponentKey, BigInteger> cache;
+        private final int assumptionBase;
+        private int stamp;
+
+        private Counter(
+                SAT4JSolutionSolver solver, int variableCount, int[][] clauses, boolean[] projection, int cacheSize) {
+            this.solver = solver;
+            this.variableCount = variableCount;
+            this.clauses = clauses;
+            this.projection = projection;
+            values = new byte[variableCount + 1];
+            clauseMarks = new int[clauses.length];
+            variableMarks = new int[variableCount + 1];
+            assumptionBase = solver.getAssignment().size();
+            cache = new LinkedHashMap<>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<ComponentKey, BigInteger> eldest) {
+                    return size() > cacheSize;
+                }
+            };
+
+            final int[] occurrenceCounts = new int[2 * variableCount];
+            for (int[] clause : clauses) {
+                for (int literal : clause) {
+                    occurrenceCounts[ModalImplicationGraph.getVertexIndex(literal)]++;
+                }
+            }
+            occurrences = new int[2 * variableCount][];
+            for (int i = 0; i < occurrences.length; i++) {
+                occurrences[i] = new int[occurrenceCounts[i]];
+            }
+            Arrays.fill(occurrenceCounts, 0);
+            for (int c = 0; c < clauses.length; c++) {
+                for (int literal : clauses[c]) {
+                    final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+                    occurrences[vertexIndex][occurrenceCounts[vertexIndex]++] = c;
+                }
+            }
+        }
+
+        private BigInteger count(int[] assumedLiterals) {
+            for (int literal : assumedLiterals) {
+                if (!assign(literal)) {
+                    return BigInteger.ZERO;
+                }
+            }
+            for (int c = 0; c < clauses.length; c++) {
+                if (!isSatisfied(c)) {
+                    final int unassignedLiteral = getUnassignedLiteral(c);
+                    if (unassignedLiteral == 0) {
+                        return BigInteger.ZERO;
+                    } else if (unassignedLiteral != Integer.MAX_VALUE && !assign(unassignedLiteral)) {
+                        return BigInteger.ZERO;
+                    }
+                }
+            }
+            if (!hasSolution()) {
+                return BigInteger.ZERO;
+            }
+            final int[] allClauses = new int[clauses.length];
+            for (int c = 0; c < allClauses.length; c++) {
+                allClauses[c] = c;
+            }
+            final int[] allVariables = new int[variableCount];
+            for (int v = 0; v < allVariables.length; v++) {
+                allVariables[v] = v + 1;
+            }
+            return count(allClauses, allVariables);
+        }
+
+        /**
+         * Counts the solutions of the given clauses and variables under the current assignment.
+         * Each frame on the stack corresponds to a call of the recursive algorithm.
+         */
+        private BigInteger count(int[] clauseIndices, int[] variables) {
+            final ArrayDeque<Frame> stack = new ArrayDeque<>();
+            stack.push(new CountFrame(clauseIndices, variables));
+            BigInteger returnedCount = null;
+            while (!stack.isEmpty()) {
+                checkCancel();
+                final Frame frame = stack.peek();
+                final Frame child = frame.resume(returnedCount);
+                if (child != null) {
+                    stack.push(child);
+                    returnedCount = null;
+                } else {
+                    stack.pop();
+                    returnedCount = frame.count;
+                }
+            }
+            return returnedCount;
+        }
+
+        private abstract class Frame {
+            protected BigInteger count;
+
+            /**
+             * Continues the computation of this frame.
+             *
+             * @param childCount the count of the last finished child frame, or {@code null} if there is none
+             * @return a child frame whose count is needed, or {@code null} if the count of this frame is computed
+             */
+            protected abstract Frame resume(BigInteger childCount);
+        }
+
+        /**
+         * Splits the unsatisfied clauses into independent components and multiplies their counts.
+         */
+        private final class CountFrame extends Frame {
+            private final List<int[][]> components = new ArrayList<>();
+            private int nextComponent;
+
+            private CountFrame(int[] clauseIndices, int[] variables) {
+                final int currentStamp = nextStamp();
+                for (int clauseIndex : clauseIndices) {
+                    if (clauseMarks[clauseIndex] != currentStamp && !isSatisfied(clauseIndex)) {
+                        clauseMarks[clauseIndex] = currentStamp;
+                        final ExpandableIntegerList componentClauses = new ExpandableIntegerList();
+                        final ExpandableIntegerList componentVariables = new ExpandableIntegerList();
+                        componentClauses.add(clauseIndex);
+                        for (int i = 0; i < componentClauses.size(); i++) {
+                            for (int literal : clauses[componentClauses.get(i)]) {
+                                final int variable = Math.abs(literal);
+                                if (values[variable] == 0 && variableMarks[variable] != currentStamp) {
+                                    variableMarks[variable] = currentStamp;
+                                    componentVariables.add(variable);
+                                    addActiveClauses(
+                                            occurrences[ModalImplicationGraph.getVertexIndex(variable)],
+                                            componentClauses,
+                                            currentStamp);
+                                    addActiveClauses(
+                                            occurrences[ModalImplicationGraph.getVertexIndex(-variable)],
+                                            componentClauses,
+                                            currentStamp);
+                                }
+                            }
+                        }
+                        final int[] sortedClauses = componentClauses.toArray();
+                        final int[] sortedVariables = componentVariables.toArray();
+                        Arrays.sort(sortedClauses);
+                        Arrays.sort(sortedVariables);
+                        components.add(new int[][] {sortedVariables, sortedClauses});
+                    }
+                }
+
+                int freeVariableCount = 0;
+                for (int variable : variables) {
+                    if (values[variable] == 0 && variableMarks[variable] != currentStamp && projection[variable]) {
+                        freeVariableCount++;
+                    }
+                }
+                count = BigInteger.ONE.shiftLeft(freeVariableCount);
+            }
+
+            @Override
+            protected Frame resume(BigInteger childCount) {
+                if (childCount != null) {
+                    count = count.multiply(childCount);
+                }
+                while (count.signum() != 0 && nextComponent < components.size()) {
+                    final int[][] component = components.get(nextComponent++);
+                    final ComponentKey key = new ComponentKey(component[0], component[1]);
+                    final BigInteger cachedCount = cache.get(key);
+                    if (cachedCount == null) {
+                        return new ComponentFrame(key);
+                    }
+                    count = count.multiply(cachedCount);
+                }
+                return null;
+            }
+        }
+
+        /**
+         * Branches on the most frequent variable of a component and caches the sum of both branches.
+         */
+        private final class ComponentFrame extends Frame {
+            private final ComponentKey key;
+            private final int decisionVariable;
+            private int branch;
+            private int trailSize;
+
+            private ComponentFrame(ComponentKey key) {
+                this.key = key;
+                count = BigInteger.ZERO;
+                int maxOccurrences = -1;
+                int mostFrequentVariable = 0;
+                for (int variable : key.variables) {
+                    if (projection[variable]) {
+                        final int variableOccurrences =
+                                occurrences[ModalImplicationGraph.getVertexIndex(variable)].length
+                                        + occurrences[ModalImplicationGraph.getVertexIndex(-variable)].length;
+                        if (variableOccurrences > maxOccurrences) {
+                            maxOccurrences = variableOccurrences;
+                            mostFrequentVariable = variable;
+                        }
+                    }
+                }
+                decisionVariable = mostFrequentVariable;
+            }
+
+            @Override
+            protected Frame resume(BigInteger childCount) {
+                if (childCount != null) {
+                    count = count.add(childCount);
+                    undo(trailSize);
+                }
+                if (decisionVariable == 0) {
+                    // the current partial assignment is known to be satisfiable
+                    count = BigInteger.ONE;
+                } else {
+                    while (branch < 2) {
+                        final int literal = branch++ == 0 ? decisionVariable : -decisionVariable;
+                        trailSize = trail.size();
+                        if (assign(literal) && hasSolution()) {
+                            return new CountFrame(key.clauses, key.variables);
+                        }
+                        undo(trailSize);
+                    }
+                }
+                cache.put(key, count);
+                return null;
+            }
+        }
+
+        private void addActiveClauses(int[] clauseIndices, ExpandableIntegerList componentClauses, int currentStamp) {
+            for (int clauseIndex : clauseIndices) {
+                if (clauseMarks[clauseIndex] != currentStamp && !isSatisfied(clauseIndex)) {
+                    clauseMarks[clauseIndex] = currentStamp;
+                    componentClauses.add(clauseIndex);
+                }
+            }
+        }
+
+        private boolean hasSolution() {
+            final Result<Boolean> hasSolution = solver.hasSolution();
+            if (hasSolution.isEmpty()) {
+                throw new RuntimeTimeoutException();
+            }
+            return hasSolution.get();
+        }
+
+        /**
+         * Assigns the given literal and propagates all resulting unit clauses.
+         *
+         * @return {@code false} if a conflict occurred
+         */
+        private boolean assign(int literal) {
+            final int variable = Math.abs(literal);
+            if (values[variable] != 0) {
+                return values[variable] == (literal > 0 ? 1 : -1);
+            }
+            int queueStart = trail.size();
+            setValue(literal);
+            while (queueStart < trail.size()) {
+                final int falseLiteral = -trail.get(queueStart++);
+                for (int clauseIndex : occurrences[ModalImplicationGraph.getVertexIndex(falseLiteral)]) {
+                    if (!isSatisfied(clauseIndex)) {
+                        final int unassignedLiteral = getUnassignedLiteral(clauseIndex);
+                        if (unassignedLiteral == 0) {
+                            return false;
+                        } else if (unassignedLiteral != Integer.MAX_VALUE) {
+                            setValue(unassignedLiteral);
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        private void setValue(int literal) {
+            values[Math.abs(literal)] = (byte) (literal > 0 ? 1 : -1);
+            trail.add(literal);
+            solver.getAssignment().add(literal);
+        }
+
+        private void undo(int trailSize) {
+            while (trail.size() > trailSize) {
+                values[Math.abs(trail.getLast())] = 0;
+                trail.removeLast();
+            }
+            solver.getAssignment().clear(assumptionBase + trailSize);
+        }
+
+        private boolean isSatisfied(int clauseIndex) {
+            for (int literal : clauses[clauseIndex]) {
+                if (values[Math.abs(literal)] == (literal > 0 ? 1 : -1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the only unassigned literal of an unsatisfied clause.
+         *
+         * @return the literal, {@code 0} if all literals are assigned, or {@link Integer#MAX_VALUE} if there are
+         *         multiple unassigned literals
+         */
+        private int getUnassignedLiteral(int clauseIndex) {
+            int unassignedLiteral = 0;
+            for (int literal : clauses[clauseIndex]) {
+                if (values[Math.abs(literal)] == 0 && literal != unassignedLiteral) {
+                    if (unassignedLiteral != 0) {
+                        return Integer.MAX_VALUE;
+                    }
+                    unassignedLiteral = literal;
+                }
+            }
+            return unassignedLiteral;
+        }
+
+        private int nextStamp() {
+            if (++stamp == Integer.MAX_VALUE) {
+                Arrays.fill(clauseMarks, 0);
+                Arrays.fill(variableMarks, 0);
+                stamp = 1;
+            }
+            return stamp;
+        }
     }
 }
@@ -22,30 +22,92 @@ package de.featjar.analysis.sat4j.computation;
 
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
 import de.featjar.analysis.sat4j.solver.ISelectionStrategy.Strategy;
+import de.featjar.analysis.sat4j.solver.SAT4JAssignment;
 import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
 import de.featjar.base.computation.Computations;
 import de.featjar.base.computation.Dependency;
 import de.featjar.base.computation.IComputation;
 import de.featjar.base.computation.Progress;
+import de.featjar.base.data.ExpandableIntegerList;
 import de.featjar.base.data.Result;
 import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Random;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class ComputeSolutionsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
+
+    /**
+     * Strategies for avoiding duplicate solutions.
+     */
+    public enum DuplicateElimination {
+        /**
+         * Adds the negation of each solution as a blocking clause.
+         */
+        SOLUTION_BLOCKING_CLAUSE,
+        /**
+         * Adds the negation of a prime implicant of each solution as a blocking clause and returns all solutions
+         * covered by the implicant.
+         */
+        IMPLICANT_BLOCKING_CLAUSE,
+        /**
+         * Adds no clauses and instead explores the solution space by chronological backtracking over the variables,
+         * using the solver only to find solutions below a partial assignment.
+         */
+        CHRONOLOGICAL_BACKTRACKING
+    }
+
+    private static final int MAXIMUM_CUBE_VARIABLES = 16;
+
     public static final Dependency<ISelectionStrategy.Strategy> SELECTION_STRATEGY =
             Dependency.newDependency(ISelectionStrategy.Strategy.class);
+    /**
+     * The maximum number of solutions. With multiple threads, which solutions are returned is not deterministic.
+     */
     public static final Dependency<Integer> LIMIT = Dependency.newDependency(Integer.class);
     public static final Dependency<Boolean> FORBID_DUPLICATES = Dependency.newDependency(Boolean.class);
+    /**
+     * How duplicate solutions are avoided if {@link #FORBID_DUPLICATES} is set.
+     */
+    public static final Dependency<DuplicateElimination> DUPLICATE_ELIMINATION =
+            Dependency.newDependency(DuplicateElimination.class);
+    /**
+     * The number of threads. One enumerates sequentially, values less than one use all available processors.
+     */
+    public static final Dependency<Integer> THREAD_COUNT = Dependency.newDependency(Integer.class);
+    /**
+     * The number of variables to split the search space into disjoint cubes for parallel enumeration.
+     * Values less than one choose enough variables for about four cubes per thread.
+     */
+    public static final Dependency<Integer> CUBE_VARIABLE_COUNT = Dependency.newDependency(Integer.class);
 
     public ComputeSolutionsSAT4J(IComputation<BooleanAssignmentList> clauseList) {
         super(
                 clauseList,
                 Computations.of(ISelectionStrategy.Strategy.ORIGINAL),
                 Computations.of(Integer.MAX_VALUE),
-                Computations.of(true));
+                Computations.of(true),
+                Computations.of(DuplicateElimination.SOLUTION_BLOCKING_CLAUSE),
+                Computations.of(1),
+                Computations.of(0));
     }
 
     protected ComputeSolutionsSAT4J(ComputeSolutionsSAT4J other) {
@@ -54,46 +116,395 @@ public class ComputeSolutionsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssign
 
     @Override
     public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        int threadCount = THREAD_COUNT.get(dependencyList);
+        if (threadCount < 1) {
+            threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+        if (threadCount > 1) {
+            return computeParallel(dependencyList, progress, threadCount);
+        }
         SAT4JSolutionSolver solver = (SAT4JSolutionSolver) createSolver(dependencyList);
         int limit = LIMIT.get(dependencyList);
         progress.setTotalSteps(limit);
         checkCancel();
         boolean forbid = FORBID_DUPLICATES.get(dependencyList);
-        final Strategy strategy = SELECTION_STRATEGY.get(dependencyList);
-        Random random = null;
-        switch (strategy) {
-            case FAST_RANDOM:
-                random = new Random(RANDOM_SEED.get(dependencyList));
-                solver.setSelectionStrategy(ISelectionStrategy.random(random));
-                break;
-            case NEGATIVE:
-                solver.setSelectionStrategy(ISelectionStrategy.negative());
-                break;
-            case ORIGINAL:
-                break;
-            case POSITIVE:
-                solver.setSelectionStrategy(ISelectionStrategy.positive());
-                break;
-            default:
-                break;
-        }
+        SolutionIterator iterator = new SolutionIterator(
+                solver,
+                SELECTION_STRATEGY.get(dependencyList),
+                forbid ? DUPLICATE_ELIMINATION.get(dependencyList) : null,
+                RANDOM_SEED.get(dependencyList));
         VariableMap variableMap = BOOLEAN_CLAUSE_LIST.get(dependencyList).getVariableMap();
         BooleanAssignmentList solutionList = new BooleanAssignmentList(variableMap);
         while (solutionList.size() < limit) {
             progress.incrementCurrentStep();
             checkCancel();
-            Result<BooleanSolution> solution = solver.findSolution();
-            if (solution.isEmpty()) {
+            if (!iterator.hasNext()) {
                 break;
             }
-            solutionList.add(solution.get());
-            if (forbid) {
-                solver.getClauseList().add(solution.get().toClause().inverse());
+            solutionList.add(iterator.next());
+        }
+        return solver.createResult(solutionList, "result is a subset");
+    }
+
+    /**
+     * Splits the search space into cubes, that is, all assignments of a few variables, and enumerates the solutions
+     * of each cube with its own solver. As the cubes are disjoint, no solution is found twice across cubes.
+     * Variables with many implications and clause occurrences are used for splitting, as they lead to cubes of
+     * similar size. They are ranked by their occurrences in the clauses, counting binary clauses twice, without
+     * calling a solver.
+     * If a limit is set, all cubes share it. Thus, which solutions are returned depends on the timing of the threads.
+     */
+    private Result<BooleanAssignmentList> computeParallel(
+            List<Object> dependencyList, Progress progress, int threadCount) {
+        BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        int[] cubeVariables = selectCubeVariables(
+                dependencyList, CUBE_VARIABLE_COUNT.get(dependencyList), threadCount, clauseList);
+        int cubeCount = 1 << cubeVariables.length;
+        progress.setTotalSteps(cubeCount);
+        checkCancel();
+
+        final int limit = LIMIT.get(dependencyList);
+        final Strategy strategy = SELECTION_STRATEGY.get(dependencyList);
+        final DuplicateElimination duplicateElimination =
+                FORBID_DUPLICATES.get(dependencyList) ? DUPLICATE_ELIMINATION.get(dependencyList) : null;
+        final long randomSeed = RANDOM_SEED.get(dependencyList);
+        final AtomicInteger remaining = new AtomicInteger(limit);
+        final AtomicReference<SAT4JSolutionSolver> timedOutSolver = new AtomicReference<>();
+
+        final List<List<BooleanSolution>> cubeSolutions = new ArrayList<>(cubeCount);
+        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+        try {
+            List<Future<List<BooleanSolution>>> futures = new ArrayList<>(cubeCount);
+            for (int i = 0; i < cubeCount; i++) {
+                final int cube = i;
+                futures.add(threadPool.submit(() -> {
+                    SAT4JSolutionSolver solver = createStreamingSolver(dependencyList);
+                    for (int j = 0; j < cubeVariables.length; j++) {
+                        solver.getAssignment()
+                                .add(((cube >>> j) & 1) == 0 ? -cubeVariables[j] : cubeVariables[j]);
+                    }
+                    SolutionIterator iterator =
+                            new SolutionIterator(solver, strategy, duplicateElimination, randomSeed + cube);
+                    List<BooleanSolution> solutions = new ArrayList<>();
+                    while (!Thread.currentThread().isInterrupted() && iterator.hasNext()) {
+                        if (remaining.getAndDecrement() <= 0) {
+                            break;
+                        }
+                        solutions.add(iterator.next());
+                    }
+                    if (solver.isTimeoutOccurred()) {
+                        timedOutSolver.set(solver);
+                    }
+                    return solutions;
+                }));
             }
-            if (strategy == Strategy.FAST_RANDOM) {
-                solver.shuffleOrder(random);
+            for (Future<List<BooleanSolution>> future : futures) {
+                progress.incrementCurrentStep();
+                checkCancel();
+                try {
+                    cubeSolutions.add(future.get());
+                } catch (InterruptedException | ExecutionException e) {
+                    return Result.empty(e);
+                }
             }
+        } finally {
+            threadPool.shutdownNow();
+        }
+
+        BooleanAssignmentList solutionList = new BooleanAssignmentList(clauseList.getVariableMap());
+        for (List<BooleanSolution> solutions : cubeSolutions) {
+            for (BooleanSolution solution : solutions) {
+                solutionList.add(solution);
+            }
+        }
+        SAT4JSolutionSolver solver = timedOutSolver.get();
+        if (solver == null) {
+            solver = (SAT4JSolutionSolver) createSolver(dependencyList);
         }
         return solver.createResult(solutionList, "result is a subset");
     }
+
+    private int[] selectCubeVariables(
+            List<Object> dependencyList, int cubeVariableCount, int threadCount, BooleanAssignmentList clauseList) {
+        if (cubeVariableCount < 1) {
+            cubeVariableCount = Integer.SIZE - Integer.numberOfLeadingZeros(4 * threadCount - 1);
+        }
+        cubeVariableCount = Math.min(cubeVariableCount, MAXIMUM_CUBE_VARIABLES);
+
+        int variableCount = clauseList.getVariableMap().size();
+        long[] degrees = new long[variableCount + 1];
+        for (BooleanAssignment clause : clauseList) {
+            int[] literals = clause.get();
+            for (int literal : literals) {
+                // binary clauses correspond to implications and count twice
+                degrees[Math.abs(literal)] += literals.length == 2 ? 2 : 1;
+            }
+        }
+        for (BooleanAssignment clause : clauseList) {
+            if (clause.size() == 1) {
+                degrees[Math.abs(clause.get()[0])] = -1;
+            }
+        }
+        for (int literal : ASSUMED_ASSIGNMENT.get(dependencyList).get()) {
+            degrees[Math.abs(literal)] = -1;
+        }
+        return IntStream.rangeClosed(1, variableCount)
+                .filter(variable -> degrees[variable] >= 0)
+                .boxed()
+                .sorted((variable1, variable2) -> Long.compare(degrees[variable2], degrees[variable1]))
+                .limit(cubeVariableCount)
+                .mapToInt(Integer::intValue)
+                .toArray();
+    }
+
+    /**
+     * Lazily produces solutions from a single solver.
+     * Each solution is only computed when it is requested, such that arbitrarily many solutions can be processed
+     * without keeping them in memory. The iterator ends when no further solution exists or the solver times out,
+     * which can be checked with {@link SAT4JSolutionSolver#isTimeoutOccurred()}.
+     * The iterator modifies the clauses and selection strategy of the given solver.
+     */
+    public static class SolutionIterator implements Iterator<BooleanSolution> {
+        private static final int MAXIMUM_FREE_VARIABLES = Long.SIZE - 2;
+
+        private final SAT4JSolutionSolver solver;
+        private final int variableCount;
+        private final DuplicateElimination duplicateElimination;
+        private final Random random;
+        private final int assumptionCount;
+        private final int[] assumptions;
+
+        private boolean started;
+        private BooleanSolution nextSolution;
+
+        private final ArrayDeque<Frame> frames = new ArrayDeque<>();
+
+        private int[] implicantSolution;
+        private int[] freeVariables;
+        private long expansionCount;
+        private long expansionIndex;
+
+        /**
+         * Creates a new iterator.
+         *
+         * @param solver the solver, including all assumptions
+         * @param strategy the selection strategy
+         * @param duplicateElimination how duplicate solutions are avoided, {@code null} to allow duplicates
+         * @param randomSeed the random seed for {@link Strategy#FAST_RANDOM}
+         */
+        public SolutionIterator(
+                SAT4JSolutionSolver solver,
+                Strategy strategy,
+                DuplicateElimination duplicateElimination,
+                long randomSeed) {
+            this.solver = solver;
+            this.duplicateElimination = duplicateElimination;
+            variableCount = solver.getClauseList().getVariableMap().size();
+            assumptionCount = solver.getAssignment().size();
+            assumptions = solver.getAssignment().get();
+            switch (strategy) {
+                case FAST_RANDOM:
+                    random = new Random(randomSeed);
+                    solver.setSelectionStrategy(ISelectionStrategy.random(random));
+                    break;
+                case NEGATIVE:
+                    random = null;
+                    solver.setSelectionStrategy(ISelectionStrategy.negative());
+                    break;
+                case POSITIVE:
+                    random = null;
+                    solver.setSelectionStrategy(ISelectionStrategy.positive());
+                    break;
+                case ORIGINAL:
+                default:
+                    random = null;
+                    break;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nextSolution == null) {
+                nextSolution = computeNext();
+            }
+            return nextSolution != null;
+        }
+
+        @Override
+        public BooleanSolution next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            BooleanSolution solution = nextSolution;
+            nextSolution = null;
+            return solution;
+        }
+
+        /**
+         * Returns a sequential stream of the remaining solutions.
+         * Solutions are only computed when the stream is consumed, so short-circuiting operations such as
+         * {@link Stream#limit(long)} end the enumeration early.
+         *
+         * @return a stream of the remaining solutions
+         */
+        public Stream<BooleanSolution> stream() {
+            return StreamSupport.stream(
+                    Spliterators.spliteratorUnknownSize(
+                            this, Spliterator.ORDERED | Spliterator.NONNULL),
+                    false);
+        }
+
+        private BooleanSolution computeNext() {
+            if (duplicateElimination == null) {
+                return findSolution() ? nextRandomized(solver.getSolution()) : null;
+            }
+            switch (duplicateElimination) {
+                case SOLUTION_BLOCKING_CLAUSE:
+                    if (!findSolution()) {
+                        return null;
+                    }
+                    BooleanSolution solution = solver.getSolution();
+                    solver.getClauseList().add(solution.toClause().inverse());
+                    return nextRandomized(solution);
+                case IMPLICANT_BLOCKING_CLAUSE:
+                    return nextImplicantSolution();
+                case CHRONOLOGICAL_BACKTRACKING:
+                    return nextBacktrackingSolution();
+                default:
+                    throw new IllegalStateException(String.valueOf(duplicateElimination));
+            }
+        }
+
+        private BooleanSolution nextRandomized(BooleanSolution solution) {
+            if (random != null) {
+                solver.shuffleOrder(random);
+            }
+            return solution;
+        }
+
+        private boolean findSolution() {
+            final Result<Boolean> hasSolution = solver.hasSolution();
+            return hasSolution.isPresent() && hasSolution.get();
+        }
+
+        private int[] getModel() {
+            return Arrays.copyOf(solver.getInternalSolution(), variableCount);
+        }
+
+        private BooleanSolution nextImplicantSolution() {
+            if (expansionIndex >= expansionCount) {
+                if (!findSolution()) {
+                    return null;
+                }
+                implicantSolution = getModel();
+                final boolean[] fixed = new boolean[variableCount];
+                final ExpandableIntegerList implicant = new ExpandableIntegerList();
+                for (int literal : solver.getInternalPrimeImplicant()) {
+                    final int index = Math.abs(literal) - 1;
+                    if (index < variableCount && !fixed[index]) {
+                        fixed[index] = true;
+                        implicant.add(literal);
+                    }
+                }
+                for (int literal : assumptions) {
+                    final int index = Math.abs(literal) - 1;
+                    if (!fixed[index]) {
+                        fixed[index] = true;
+                        implicant.add(literal);
+                    }
+                }
+                final ExpandableIntegerList free = new ExpandableIntegerList();
+                for (int i = 0; i < variableCount; i++) {
+                    if (!fixed[i]) {
+                        // only as many free variables as can be expanded are omitted from the blocking clause
+                        if (free.size() < MAXIMUM_FREE_VARIABLES) {
+                            free.add(i);
+                        } else {
+                            implicant.add(implicantSolution[i]);
+                        }
+                    }
+                }
+                freeVariables = free.toArray();
+                expansionCount = 1L << freeVariables.length;
+                expansionIndex = 0;
+
+                final int[] blockingClause = implicant.toArray();
+                for (int i = 0; i < blockingClause.length; i++) {
+                    blockingClause[i] = -blockingClause[i];
+                }
+                solver.getClauseList().add(blockingClause);
+                if (random != null) {
+                    solver.shuffleOrder(random);
+                }
+            }
+            final int[] literals = Arrays.copyOf(implicantSolution, variableCount);
+            final long expansion = expansionIndex++;
+            for (int i = 0; i < freeVariables.length; i++) {
+                final int variable = freeVariables[i] + 1;
+                literals[freeVariables[i]] = ((expansion >>> i) & 1) == 0 ? variable : -variable;
+            }
+            return new BooleanSolution(literals, false);
+        }
+
+        private BooleanSolution nextBacktrackingSolution() {
+            final SAT4JAssignment assignment = solver.getAssignment();
+            if (!started) {
+                started = true;
+                if (!findSolution()) {
+                    return null;
+                }
+                return pushModel(0);
+            }
+            while (!frames.isEmpty()) {
+                final Frame frame = frames.peek();
+                final int flip = frame.nextFlip--;
+                if (flip < frame.lowerBound) {
+                    frames.pop();
+                    continue;
+                }
+                final int[] model = frame.model;
+                assignment.clear(assumptionCount);
+                for (int i = 0; i < flip; i++) {
+                    assignment.add(model[i]);
+                }
+                assignment.add(-model[flip]);
+                final boolean hasSolution;
+                try {
+                    hasSolution = findSolution();
+                } finally {
+                    assignment.clear(assumptionCount);
+                }
+                if (hasSolution) {
+                    return pushModel(flip + 1);
+                }
+            }
+            return null;
+        }
+
+        private BooleanSolution pushModel(int lowerBound) {
+            final int[] model = getModel();
+            frames.push(new Frame(model, lowerBound, variableCount - 1));
+            if (random != null) {
+                solver.shuffleOrder(random);
+            }
+            return new BooleanSolution(Arrays.copyOf(model, variableCount), false);
+        }
+    }
+
+    /**
+     * A solution found during chronological backtracking together with the positions that remain to be flipped.
+     * Flipping position {@code i} fixes all literals before {@code i} and negates the literal at {@code i}, such that
+     * the solution spaces below different positions and frames are disjoint.
+     */
+    private static class Frame {
+        private final int[] model;
+        private final int lowerBound;
+        private int nextFlip;
+
+        private Frame(int[] model, int lowerBound, int nextFlip) {
+            this.model = model;
+            this.lowerBound = lowerBound;
+            this.nextFlip = nextFlip;
+        }
+    }
 }
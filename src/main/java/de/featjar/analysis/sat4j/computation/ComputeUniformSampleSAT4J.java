@@ -0,0 +1,285 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.RuntimeTimeoutException;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+/**
+ * Samples solutions almost uniformly at random with the UniGen2 algorithm.
+ * The solution space is partitioned into cells by random XOR constraints over the variables of interest (see
+ * {@link XORHashing}), such that a cell contains between a lower and an upper threshold of solutions. All solutions of
+ * such a cell are enumerated and up to lower-threshold many of them are returned, so one hashing step yields several
+ * samples. The number of XOR constraints is derived once from an approximate solution count and reused for all
+ * cells. Cells are computed in parallel, each thread reusing one solver.
+ * If the formula has at most upper-threshold many solutions, all of them are enumerated and samples are drawn exactly
+ * uniformly.
+ * The variables of interest should form an independent support of the formula, otherwise samples are uniform only
+ * with respect to their projection onto these variables.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeUniformSampleSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
+
+    public static final Dependency<BooleanAssignment> VARIABLES_OF_INTEREST =
+            Dependency.newDependency(BooleanAssignment.class);
+    /**
+     * The number of samples.
+     */
+    public static final Dependency<Integer> SAMPLE_SIZE = Dependency.newDependency(Integer.class);
+    /**
+     * The tolerance of uniformity, i.e., each solution is sampled with a probability within a factor of
+     * {@code 1 + epsilon} of the uniform probability. Must be greater than 1.71.
+     */
+    public static final Dependency<Double> EPSILON = Dependency.newDependency(Double.class);
+    /**
+     * The number of threads. Values less than one use all available processors.
+     */
+    public static final Dependency<Integer> THREAD_COUNT = Dependency.newDependency(Integer.class);
+
+    private static final double MINIMUM_EPSILON = 1.71;
+    private static final int MAXIMUM_ATTEMPTS = 20;
+
+    public ComputeUniformSampleSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(
+                clauseList,
+                Computations.of(new BooleanAssignment()),
+                Computations.of(10),
+                Computations.of(16.0),
+                Computations.of(0));
+    }
+
+    protected ComputeUniformSampleSAT4J(ComputeUniformSampleSAT4J other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        final BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        final int sampleSize = SAMPLE_SIZE.get(dependencyList);
+        final double epsilon = EPSILON.get(dependencyList);
+        final long seed = RANDOM_SEED.get(dependencyList);
+        if (epsilon <= MINIMUM_EPSILON) {
+            return Result.empty(new IllegalArgumentException("Epsilon must be greater than " + MINIMUM_EPSILON));
+        }
+        int threadCount = THREAD_COUNT.get(dependencyList);
+        if (threadCount < 1) {
+            threadCount = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        }
+
+        BooleanAssignment variablesOfInterest = VARIABLES_OF_INTEREST.get(dependencyList);
+        final int[] variables;
+        if (variablesOfInterest.isEmpty()) {
+            variables = IntStream.rangeClosed(1, clauseList.getVariableMap().size()).toArray();
+        } else {
+            variables = IntStream.of(variablesOfInterest.get()).map(Math::abs).distinct().toArray();
+        }
+
+        final double kappa = computeKappa(epsilon);
+        final double pivot = Math.ceil(4.03 * (1 + 1 / kappa) * (1 + 1 / kappa));
+        final int upperThreshold = (int) Math.ceil(1 + Math.sqrt(2) * (1 + kappa) * pivot);
+        final int lowerThreshold = Math.max(1, (int) (pivot / (Math.sqrt(2) * (1 + kappa))));
+        progress.setTotalSteps(sampleSize);
+
+        final BooleanAssignmentList sample = new BooleanAssignmentList(clauseList.getVariableMap());
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+        List<BooleanSolution> solutions = enumerateUpTo(solver, variables, upperThreshold + 1);
+        if (solutions.isEmpty()) {
+            return Result.of(sample);
+        } else if (solutions.size() <= upperThreshold) {
+            final Random random = new Random(seed);
+            for (int i = 0; i < sampleSize; i++) {
+                sample.add(solutions.get(random.nextInt(solutions.size())));
+                progress.incrementCurrentStep();
+            }
+            return Result.of(sample);
+        }
+
+        Result<SolutionCountEstimate> estimate = new ComputeApproximateSolutionCountSAT4J(Computations.of(clauseList))
+                .set(ComputeApproximateSolutionCountSAT4J.VARIABLES_OF_INTEREST, new BooleanAssignment(variables))
+                .set(ComputeApproximateSolutionCountSAT4J.THREAD_COUNT, threadCount)
+                .set(ASSUMED_ASSIGNMENT, ASSUMED_ASSIGNMENT.get(dependencyList))
+                .set(ASSUMED_CLAUSE_LIST, ASSUMED_CLAUSE_LIST.get(dependencyList))
+                .set(SAT_TIMEOUT, SAT_TIMEOUT.get(dependencyList))
+                .set(SOLVER_METRICS, SOLVER_METRICS.get(dependencyList))
+                .set(RANDOM_SEED, seed)
+                .computeResult();
+        if (estimate.isEmpty()) {
+            return Result.empty(estimate.getProblems());
+        }
+        final double logCount = Math.log(estimate.get().getEstimate().doubleValue());
+        final int maximumXORCount =
+                Math.min(variables.length, (int) Math.ceil((logCount + Math.log(1.8) - Math.log(pivot)) / Math.log(2)));
+        final int minimumXORCount = Math.max(1, maximumXORCount - 3);
+
+        final ThreadLocal<XORHashing> hashings =
+                ThreadLocal.withInitial(() -> new XORHashing(createStreamingSolver(dependencyList)));
+        ExecutorService threadPool = Executors.newFixedThreadPool(threadCount);
+        try {
+            int cellIndex = 0;
+            int failedAttempts = 0;
+            while (sample.size() < sampleSize) {
+                final int cellCount = (sampleSize - sample.size() + lowerThreshold - 1) / lowerThreshold;
+                List<Future<List<BooleanSolution>>> futures = new ArrayList<>(cellCount);
+                for (int i = 0; i < cellCount; i++) {
+                    final Random random = new Random(seed + cellIndex++);
+                    futures.add(threadPool.submit(() -> sampleCell(
+                            hashings.get(),
+                            variables,
+                            minimumXORCount,
+                            maximumXORCount,
+                            lowerThreshold,
+                            upperThreshold,
+                            random)));
+                }
+                boolean anySuccess = false;
+                for (Future<List<BooleanSolution>> future : futures) {
+                    checkCancel();
+                    try {
+                        for (BooleanSolution solution : future.get()) {
+                            if (sample.size() < sampleSize) {
+                                sample.add(solution);
+                                progress.incrementCurrentStep();
+                                anySuccess = true;
+                            }
+                        }
+                    } catch (InterruptedException | ExecutionException e) {
+                        return Result.empty(e);
+                    }
+                }
+                if (anySuccess) {
+                    failedAttempts = 0;
+                } else if (++failedAttempts >= MAXIMUM_ATTEMPTS) {
+                    return Result.empty(new IllegalStateException("Could not find a cell of suitable size"));
+                }
+            }
+        } finally {
+            threadPool.shutdownNow();
+        }
+        return Result.of(sample);
+    }
+
+    /**
+     * Solves {@code epsilon = (1 + kappa) * (2.23 + 0.48 / (1 - kappa)^2) - 1} for {@code kappa} in {@code (0, 1)}.
+     */
+    private static double computeKappa(double epsilon) {
+        double low = 0;
+        double high = 1;
+        for (int i = 0; i < 64; i++) {
+            final double kappa = (low + high) / 2;
+            if ((1 + kappa) * (2.23 + 0.48 / ((1 - kappa) * (1 - kappa))) - 1 < epsilon) {
+                low = kappa;
+            } else {
+                high = kappa;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Adds random XOR constraints until a cell of suitable size is found and returns up to {@code lowerThreshold}
+     * distinct solutions of this cell. All added constraints are removed afterwards, such that the next cell reuses the
+     * auxiliary variables of the hashing.
+     *
+     * @return the sampled solutions, empty if no suitable cell was found
+     */
+    private List<BooleanSolution> sampleCell(
+            XORHashing hashing,
+            int[] variables,
+            int minimumXORCount,
+            int maximumXORCount,
+            int lowerThreshold,
+            int upperThreshold,
+            Random random) {
+        try {
+            for (int i = 0; i < minimumXORCount - 1; i++) {
+                hashing.addRandomXOR(variables, random);
+            }
+            for (int xorCount = minimumXORCount; xorCount <= maximumXORCount; xorCount++) {
+                checkCancel();
+                hashing.addRandomXOR(variables, random);
+                final List<BooleanSolution> cell = enumerateUpTo(hashing.getSolver(), variables, upperThreshold + 1);
+                if (cell.size() >= lowerThreshold && cell.size() <= upperThreshold) {
+                    Collections.shuffle(cell, random);
+                    return cell.subList(0, lowerThreshold);
+                } else if (cell.size() < lowerThreshold) {
+                    break;
+                }
+            }
+            return List.of();
+        } finally {
+            hashing.clear();
+        }
+    }
+
+    /**
+     * Enumerates solutions that are distinct w.r.t. the given variables by adding blocking clauses, which are removed
+     * afterwards.
+     *
+     * @return the solutions, at most the given limit
+     */
+    private List<BooleanSolution> enumerateUpTo(SAT4JSolutionSolver solver, int[] variables, int limit) {
+        final int variableCount = solver.getClauseList().getVariableMap().size();
+        final List<BooleanSolution> solutions = new ArrayList<>();
+        try {
+            while (solutions.size() < limit) {
+                checkCancel();
+                final Result<Boolean> hasSolution = solver.hasSolution();
+                if (hasSolution.isEmpty()) {
+                    throw new RuntimeTimeoutException();
+                } else if (hasSolution.valueEquals(Boolean.FALSE)) {
+                    break;
+                }
+                final int[] model = solver.getInternalSolution();
+                final int[] blockingClause = new int[variables.length];
+                for (int i = 0; i < variables.length; i++) {
+                    blockingClause[i] = -model[variables[i] - 1];
+                }
+                // omit auxiliary variables of XOR constraints
+                solutions.add(new BooleanSolution(Arrays.copyOf(model, variableCount), false));
+                solver.getClauseList().add(blockingClause);
+            }
+        } finally {
+            for (int i = 0; i < solutions.size(); i++) {
+                solver.getClauseList().remove();
+            }
+        }
+        return solutions;
+    }
+}
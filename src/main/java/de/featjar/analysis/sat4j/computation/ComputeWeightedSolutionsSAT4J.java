@@ -0,0 +1,105 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ProbabilityDistribution;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.Dependency;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.computation.Progress;
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.BooleanSolution;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random solutions in which each variable is selected with a given target probability, e.g., to match the
+ * feature usage observed in the field (see {@link ProbabilityDistribution}).
+ * All solutions are computed by the same solver, which keeps its learned clauses between solutions. Before each
+ * solution, the decision order is shuffled, such that no variable is systematically decided first.
+ *
+ * @author Sebastian Krieter
+ */
+public class ComputeWeightedSolutionsSAT4J extends ASAT4JAnalysis.Solution<BooleanAssignmentList> {
+
+    /**
+     * For each variable index (starting at zero), the probability of selecting the variable.
+     * If empty, each variable is selected with probability one half.
+     */
+    public static final Dependency<double[]> PROBABILITIES = Dependency.newDependency(double[].class);
+    /**
+     * The number of solutions.
+     */
+    public static final Dependency<Integer> SAMPLE_SIZE = Dependency.newDependency(Integer.class);
+
+    public static final Dependency<Boolean> FORBID_DUPLICATES = Dependency.newDependency(Boolean.class);
+
+    public ComputeWeightedSolutionsSAT4J(IComputation<BooleanAssignmentList> clauseList) {
+        super(clauseList, Computations.of(new double[0]), Computations.of(10), Computations.of(false));
+    }
+
+    protected ComputeWeightedSolutionsSAT4J(ComputeWeightedSolutionsSAT4J other) {
+        super(other);
+    }
+
+    @Override
+    public Result<BooleanAssignmentList> compute(List<Object> dependencyList, Progress progress) {
+        BooleanAssignmentList clauseList = BOOLEAN_CLAUSE_LIST.get(dependencyList);
+        int variableCount = clauseList.getVariableMap().size();
+        double[] probabilities = PROBABILITIES.get(dependencyList);
+        if (probabilities.length == 0) {
+            probabilities = new double[variableCount];
+            Arrays.fill(probabilities, 0.5);
+        } else if (probabilities.length != variableCount) {
+            return Result.empty(new IllegalArgumentException(
+                    "Expected " + variableCount + " probabilities, but got " + probabilities.length));
+        }
+        int sampleSize = SAMPLE_SIZE.get(dependencyList);
+        boolean forbid = FORBID_DUPLICATES.get(dependencyList);
+        progress.setTotalSteps(sampleSize);
+
+        Random random = new Random(RANDOM_SEED.get(dependencyList));
+        ProbabilityDistribution distribution = new ProbabilityDistribution(probabilities);
+        distribution.setRandom(random);
+        SAT4JSolutionSolver solver = createSolver(dependencyList);
+        solver.setSelectionStrategy(ISelectionStrategy.uniform(distribution));
+
+        BooleanAssignmentList solutionList = new BooleanAssignmentList(clauseList.getVariableMap());
+        while (solutionList.size() < sampleSize) {
+            progress.incrementCurrentStep();
+            checkCancel();
+            solver.shuffleOrder(random);
+            Result<BooleanSolution> solution = solver.findSolution();
+            if (solution.isEmpty()) {
+                break;
+            }
+            solutionList.add(solution.get());
+            if (forbid) {
+                solver.getClauseList().add(solution.get().toClause().inverse());
+            }
+        }
+        return solver.createResult(solutionList, "result is a subset");
+    }
+}
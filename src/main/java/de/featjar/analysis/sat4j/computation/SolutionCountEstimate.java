@@ -0,0 +1,95 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * An approximate solution count with its confidence bounds.
+ * With a probability of at least {@code 1 - delta}, the actual count lies between the lower and upper bound, which
+ * deviate from the estimate by a factor of {@code 1 + epsilon}.
+ *
+ * @author Sebastian Krieter
+ */
+public class SolutionCountEstimate {
+    private final BigInteger estimate;
+    private final double epsilon;
+    private final double delta;
+    private final boolean exact;
+
+    public SolutionCountEstimate(BigInteger estimate, double epsilon, double delta, boolean exact) {
+        this.estimate = estimate;
+        this.epsilon = epsilon;
+        this.delta = delta;
+        this.exact = exact;
+    }
+
+    public BigInteger getEstimate() {
+        return estimate;
+    }
+
+    public BigInteger getLowerBound() {
+        if (exact) {
+            return estimate;
+        }
+        return new BigDecimal(estimate)
+                .divide(BigDecimal.valueOf(1 + epsilon), 0, RoundingMode.FLOOR)
+                .toBigInteger();
+    }
+
+    public BigInteger getUpperBound() {
+        if (exact) {
+            return estimate;
+        }
+        return new BigDecimal(estimate)
+                .multiply(BigDecimal.valueOf(1 + epsilon))
+                .setScale(0, RoundingMode.CEILING)
+                .toBigInteger();
+    }
+
+    public double getEpsilon() {
+        return epsilon;
+    }
+
+    public double getDelta() {
+        return delta;
+    }
+
+    /**
+     * Returns whether the estimate is the exact count, which is the case for small numbers of solutions.
+     *
+     * @return {@code true} if the estimate is exact
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    @Override
+    public String toString() {
+        return exact
+                ? estimate.toString()
+                : String.format(
+                        "%s [%s, %s] (epsilon=%s, delta=%s)",
+                        estimate, getLowerBound(), getUpperBound(), epsilon, delta);
+    }
+}
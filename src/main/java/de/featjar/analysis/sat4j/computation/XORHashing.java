@@ -0,0 +1,205 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.computation;
+
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.data.ExpandableIntegerList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Adds random XOR constraints to a solver, which partition the solution space into cells of about equal size.
+ * XOR constraints are split into chunks of at most four variables using auxiliary variables and encoded as clauses.
+ * Added constraints form a stack and can be removed again in reverse order.
+ * Auxiliary variables of removed constraints are reused, such that the number of variables of the solver only
+ * depends on the maximum number of constraints added at the same time.
+ *
+ * @author Sebastian Krieter
+ */
+final class XORHashing {
+
+    private static final int XOR_CHUNK_SIZE = 4;
+
+    /**
+     * A XOR constraint over a set of variables.
+     */
+    static final class XOR {
+        private final int[] variables;
+        private final boolean parity;
+
+        private XOR(int[] variables, boolean parity) {
+            this.variables = variables;
+            this.parity = parity;
+        }
+    }
+
+    /**
+     * Creates a random XOR constraint, where each of the given variables is included with probability one half.
+     *
+     * @param variables the variables to hash
+     * @param random the random generator
+     * @return a new XOR constraint
+     */
+    static XOR randomXOR(int[] variables, Random random) {
+        final ExpandableIntegerList xorVariables = new ExpandableIntegerList();
+        while (xorVariables.size() == 0) {
+            for (int variable : variables) {
+                if (random.nextBoolean()) {
+                    xorVariables.add(variable);
+                }
+            }
+        }
+        return new XOR(xorVariables.toArray(), random.nextBoolean());
+    }
+
+    private final SAT4JSolutionSolver solver;
+
+    private int[] auxiliaryVariables = new int[0];
+    private int usedAuxiliaryVariableCount;
+
+    private int[] addedClauseCounts = new int[8];
+    private int[] addedAuxiliaryVariableCounts = new int[8];
+    private int size;
+
+    XORHashing(SAT4JSolutionSolver solver) {
+        this.solver = solver;
+    }
+
+    SAT4JSolutionSolver getSolver() {
+        return solver;
+    }
+
+    /**
+     * Returns the number of added XOR constraints.
+     *
+     * @return the number of constraints
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Adds a random XOR constraint, where each of the given variables is included with probability one half.
+     *
+     * @param variables the variables to hash
+     * @param random the random generator
+     */
+    void addRandomXOR(int[] variables, Random random) {
+        add(randomXOR(variables, random));
+    }
+
+    /**
+     * Adds the given XOR constraint to the solver.
+     *
+     * @param xor the XOR constraint
+     */
+    void add(XOR xor) {
+        final int clauseCount = solver.getClauseList().size();
+        final int auxiliaryVariableCount = usedAuxiliaryVariableCount;
+
+        int[] remaining = xor.variables;
+        while (remaining.length > XOR_CHUNK_SIZE) {
+            final int auxiliaryVariable = nextAuxiliaryVariable();
+            final int[] chunk = new int[XOR_CHUNK_SIZE];
+            System.arraycopy(remaining, 0, chunk, 0, XOR_CHUNK_SIZE - 1);
+            chunk[XOR_CHUNK_SIZE - 1] = auxiliaryVariable;
+            addXOR(chunk, false);
+
+            final int[] next = new int[remaining.length - XOR_CHUNK_SIZE + 2];
+            next[0] = auxiliaryVariable;
+            System.arraycopy(remaining, XOR_CHUNK_SIZE - 1, next, 1, next.length - 1);
+            remaining = next;
+        }
+        addXOR(remaining, xor.parity);
+
+        if (size == addedClauseCounts.length) {
+            addedClauseCounts = Arrays.copyOf(addedClauseCounts, 2 * size);
+            addedAuxiliaryVariableCounts = Arrays.copyOf(addedAuxiliaryVariableCounts, 2 * size);
+        }
+        addedClauseCounts[size] = solver.getClauseList().size() - clauseCount;
+        addedAuxiliaryVariableCounts[size] = usedAuxiliaryVariableCount - auxiliaryVariableCount;
+        size++;
+    }
+
+    /**
+     * Removes the XOR constraint that was added last.
+     * All clauses added to the solver afterwards must have been removed before.
+     */
+    void removeLast() {
+        size--;
+        for (int i = 0; i < addedClauseCounts[size]; i++) {
+            solver.getClauseList().remove();
+        }
+        usedAuxiliaryVariableCount -= addedAuxiliaryVariableCounts[size];
+    }
+
+    /**
+     * Removes all added XOR constraints.
+     */
+    void clear() {
+        while (size > 0) {
+            removeLast();
+        }
+    }
+
+    /**
+     * Adds or removes XOR constraints, such that exactly the first {@code count} constraints of the given list are
+     * added. The currently added constraints must be a prefix of the given list.
+     *
+     * @param xors the XOR constraints
+     * @param count the number of constraints
+     */
+    void setPrefix(List<XOR> xors, int count) {
+        while (size > count) {
+            removeLast();
+        }
+        while (size < count) {
+            add(xors.get(size));
+        }
+    }
+
+    private int nextAuxiliaryVariable() {
+        if (usedAuxiliaryVariableCount == auxiliaryVariables.length) {
+            auxiliaryVariables = Arrays.copyOf(auxiliaryVariables, Math.max(8, 2 * auxiliaryVariables.length));
+            for (int i = usedAuxiliaryVariableCount; i < auxiliaryVariables.length; i++) {
+                auxiliaryVariables[i] = solver.addVariables(1);
+            }
+        }
+        return auxiliaryVariables[usedAuxiliaryVariableCount++];
+    }
+
+    /**
+     * Adds clauses that forbid all assignments to the given variables whose parity differs from the given one.
+     */
+    private void addXOR(int[] variables, boolean parity) {
+        final int assignmentCount = 1 << variables.length;
+        for (int assignment = 0; assignment < assignmentCount; assignment++) {
+            if ((Integer.bitCount(assignment) % 2 == 1) != parity) {
+                final int[] clause = new int[variables.length];
+                for (int i = 0; i < variables.length; i++) {
+                    clause[i] = ((assignment >>> i) & 1) == 1 ? -variables[i] : variables[i];
+                }
+                solver.getClauseList().add(clause);
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.Arrays;
+
+/**
+ * Compressed sparse row representation of implications between literals.
+ * Vertex indices are computed by {@link ModalImplicationGraph#getVertexIndex(int)}.
+ * The implied literals of a vertex {@code i} are stored in {@code targets} from
+ * {@code offsets[i]} (inclusive) to {@code offsets[i + 1]} (exclusive).
+ *
+ * @author Sebastian Krieter
+ */
+public class ImplicationGraph {
+
+    final int size;
+    final int[] offsets;
+    final int[] targets;
+
+    /**
+     * Creates a new implication graph from the implied literals of each vertex.
+     *
+     * @param size the number of variables
+     * @param implications the implied literals for each vertex index, entries may be {@code null}
+     * @return a new implication graph
+     */
+    public static ImplicationGraph of(int size, int[][] implications) {
+        if (implications.length != 2 * size) {
+            throw new IllegalArgumentException(
+                    "Expected " + (2 * size) + " vertices, but got " + implications.length);
+        }
+        final int[] offsets = new int[2 * size + 1];
+        for (int i = 0; i < implications.length; i++) {
+            offsets[i + 1] = offsets[i] + (implications[i] == null ? 0 : implications[i].length);
+        }
+        final int[] targets = new int[offsets[offsets.length - 1]];
+        for (int i = 0; i < implications.length; i++) {
+            if (implications[i] != null) {
+                System.arraycopy(implications[i], 0, targets, offsets[i], implications[i].length);
+            }
+        }
+        return new ImplicationGraph(size, offsets, targets);
+    }
+
+    public ImplicationGraph(int size, int[] offsets, int[] targets) {
+        this.size = size;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getEdgeCount() {
+        return targets.length;
+    }
+
+    public int[] getOffsets() {
+        return offsets;
+    }
+
+    public int[] getTargets() {
+        return targets;
+    }
+
+    public int getImplicationCount(int literal) {
+        final int i = ModalImplicationGraph.getVertexIndex(literal);
+        return offsets[i + 1] - offsets[i];
+    }
+
+    public int[] getImplications(int literal) {
+        final int i = ModalImplicationGraph.getVertexIndex(literal);
+        return Arrays.copyOfRange(targets, offsets[i], offsets[i + 1]);
+    }
+
+    /**
+     * Computes the transitive reduction of this graph. First, all strongly
+     * connected components (i.e., equivalent literals) are computed and
+     * condensed into single vertices. Within each component, the literals are
+     * connected by a simple cycle. Between components, an edge is only kept if
+     * its target is not reachable via another kept edge, which is checked with
+     * one reachability bitmap per component.
+     * A bitmap is released as soon as all components with an edge to its
+     * component have been processed. Still, in the worst case (e.g., a long chain
+     * of components with edges to all previous ones), {@code c * c / 64} words
+     * are allocated at the same time for {@code c} components.
+     * The reduced graph must not be added to a {@link ModalImplicationGraph}, as
+     * its strong edges are expected to be transitively closed.
+     *
+     * @return a new graph containing the transitive reduction of this graph
+     */
+    public ImplicationGraph reduce() {
+        final int vertexCount = 2 * size;
+
+        // Tarjan's algorithm (iterative), components are numbered in reverse topological order
+        final int[] index = new int[vertexCount];
+        final int[] low = new int[vertexCount];
+        final int[] component = new int[vertexCount];
+        final boolean[] onStack = new boolean[vertexCount];
+        final int[] stack = new int[vertexCount];
+        final int[] callStack = new int[vertexCount];
+        final int[] edgePosition = new int[vertexCount];
+        Arrays.fill(index, -1);
+        int stackSize = 0;
+        int counter = 0;
+        int componentCount = 0;
+        for (int root = 0; root < vertexCount; root++) {
+            if (index[root] >= 0) {
+                continue;
+            }
+            index[root] = low[root] = counter++;
+            stack[stackSize++] = root;
+            onStack[root] = true;
+            callStack[0] = root;
+            edgePosition[0] = offsets[root];
+            int callStackSize = 1;
+            while (callStackSize > 0) {
+                final int v = callStack[callStackSize - 1];
+                if (edgePosition[callStackSize - 1] < offsets[v + 1]) {
+                    final int w = ModalImplicationGraph.getVertexIndex(targets[edgePosition[callStackSize - 1]++]);
+                    if (index[w] < 0) {
+                        index[w] = low[w] = counter++;
+                        stack[stackSize++] = w;
+                        onStack[w] = true;
+                        callStack[callStackSize] = w;
+                        edgePosition[callStackSize] = offsets[w];
+                        callStackSize++;
+                    } else if (onStack[w]) {
+                        low[v] = Math.min(low[v], index[w]);
+                    }
+                } else {
+                    callStackSize--;
+                    if (callStackSize > 0) {
+                        final int u = callStack[callStackSize - 1];
+                        low[u] = Math.min(low[u], low[v]);
+                    }
+                    if (low[v] == index[v]) {
+                        int w;
+                        do {
+                            w = stack[--stackSize];
+                            onStack[w] = false;
+                            component[w] = componentCount;
+                        } while (w != v);
+                        componentCount++;
+                    }
+                }
+            }
+        }
+
+        // members of each component in ascending order of their vertex index
+        final int[] memberOffsets = new int[componentCount + 1];
+        for (int v = 0; v < vertexCount; v++) {
+            memberOffsets[component[v] + 1]++;
+        }
+        for (int c = 0; c < componentCount; c++) {
+            memberOffsets[c + 1] += memberOffsets[c];
+        }
+        final int[] members = new int[vertexCount];
+        final int[] memberPosition = Arrays.copyOf(memberOffsets, componentCount);
+        for (int v = 0; v < vertexCount; v++) {
+            members[memberPosition[component[v]]++] = v;
+        }
+
+        // condensation edges, kept edges are determined in reverse topological order
+        final int wordCount = (componentCount + 63) >>> 6;
+        final long[][] reach = new long[componentCount][];
+        // index of the last component that reads the bitmap of a component
+        final int[] lastUse = new int[componentCount];
+        Arrays.fill(lastUse, -1);
+        for (int v = 0; v < vertexCount; v++) {
+            final int c = component[v];
+            for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                final int d = component[ModalImplicationGraph.getVertexIndex(targets[j])];
+                if (d != c && lastUse[d] < c) {
+                    lastUse[d] = c;
+                }
+            }
+        }
+        final int[][] keptEdges = new int[componentCount][];
+        final int[] stamp = new int[componentCount];
+        final int[] successors = new int[componentCount];
+        for (int c = 0; c < componentCount; c++) {
+            int successorCount = 0;
+            for (int k = memberOffsets[c]; k < memberOffsets[c + 1]; k++) {
+                final int v = members[k];
+                for (int j = offsets[v]; j < offsets[v + 1]; j++) {
+                    final int d = component[ModalImplicationGraph.getVertexIndex(targets[j])];
+                    if (d != c && stamp[d] != c + 1) {
+                        stamp[d] = c + 1;
+                        successors[successorCount++] = d;
+                    }
+                }
+            }
+            // successors with higher numbers come first in topological order
+            Arrays.sort(successors, 0, successorCount);
+            final long[] reachable = new long[wordCount];
+            final int[] kept = new int[successorCount];
+            int keptCount = 0;
+            for (int j = successorCount - 1; j >= 0; j--) {
+                final int d = successors[j];
+                if ((reachable[d >>> 6] & (1L << d)) == 0) {
+                    kept[keptCount++] = d;
+                    reachable[d >>> 6] |= 1L << d;
+                    final long[] reachableFromD = reach[d];
+                    for (int w = 0; w < wordCount; w++) {
+                        reachable[w] |= reachableFromD[w];
+                    }
+                }
+            }
+            if (lastUse[c] >= 0) {
+                reach[c] = reachable;
+            }
+            for (int j = 0; j < successorCount; j++) {
+                final int d = successors[j];
+                if (lastUse[d] == c) {
+                    reach[d] = null;
+                }
+            }
+            keptEdges[c] = Arrays.copyOf(kept, keptCount);
+        }
+
+        final int[][] reducedImplications = new int[vertexCount][];
+        for (int c = 0; c < componentCount; c++) {
+            final int first = memberOffsets[c];
+            final int last = memberOffsets[c + 1] - 1;
+            final int[] kept = keptEdges[c];
+            for (int k = first; k <= last; k++) {
+                final int v = members[k];
+                final int cycleEdgeCount = first == last ? 0 : 1;
+                final int[] edges = new int[cycleEdgeCount + (k == first ? kept.length : 0)];
+                if (cycleEdgeCount > 0) {
+                    edges[0] = ModalImplicationGraph.getLiteral(members[k == last ? first : k + 1]);
+                }
+                if (k == first) {
+                    for (int j = 0; j < kept.length; j++) {
+                        edges[cycleEdgeCount + j] = ModalImplicationGraph.getLiteral(members[memberOffsets[kept[j]]]);
+                    }
+                }
+                reducedImplications[v] = edges;
+            }
+        }
+        return of(size, reducedImplications);
+    }
+
+    /**
+     * Converts this graph into a list containing one assignment per literal with
+     * at least one implication. The first literal of each assignment is the
+     * implying literal, followed by all implied literals.
+     *
+     * @param variableMap the variable map of the list
+     * @return a new list of assignments
+     */
+    public BooleanAssignmentList toBooleanAssignmentList(VariableMap variableMap) {
+        final BooleanAssignmentList list = new BooleanAssignmentList(variableMap);
+        for (int i = 0; i < 2 * size; i++) {
+            final int from = offsets[i];
+            final int to = offsets[i + 1];
+            if (from < to) {
+                final int[] literals = new int[to - from + 1];
+                literals[0] = ModalImplicationGraph.getLiteral(i);
+                System.arraycopy(targets, from, literals, 1, to - from);
+                list.add(new BooleanAssignment(literals));
+            }
+        }
+        return list;
+    }
+}
@@ -20,6 +20,8 @@
  */
 package de.featjar.analysis.sat4j.solver;
 
+import java.util.Arrays;
+
 /**
  * Adjacency list implementation based on arrays. Intended to use for faster
  * traversion.
@@ -45,6 +47,10 @@ public class ModalImplicationGraph {
         return literal < 0 ? (-literal - 1) << 1 : ((literal - 1) << 1) + 1;
     }
 
+    public static int getLiteral(int vertexIndex) {
+        return (vertexIndex & 1) == 0 ? -((vertexIndex >> 1) + 1) : (vertexIndex >> 1) + 1;
+    }
+
     public ModalImplicationGraph(
             int size,
             int[] core,
@@ -73,4 +79,48 @@ public class ModalImplicationGraph {
     public int size() {
         return size;
     }
+
+    /**
+     * Adds all implications of the given graph as strong edges to this graph.
+     * Already existing edges and edges to core literals are omitted.
+     *
+     * @param implications the implication graph, must have the same size as this graph
+     */
+    public void addStrongEdges(ImplicationGraph implications) {
+        if (implications.size() != size) {
+            throw new IllegalArgumentException(
+                    "Expected " + size + " variables, but got " + implications.size());
+        }
+        final int[] mark = new int[2 * size];
+        for (int l : core) {
+            mark[getVertexIndex(l)] = -1;
+            mark[getVertexIndex(-l)] = -1;
+        }
+        for (int i = 0; i < strong.length; i++) {
+            final int from = implications.offsets[i];
+            final int to = implications.offsets[i + 1];
+            if (from == to) {
+                continue;
+            }
+            final int stamp = i + 1;
+            final int[] edges = strong[i];
+            final int[] mergedEdges = Arrays.copyOf(edges, edges.length + (to - from));
+            for (int l : edges) {
+                final int vertexIndex = getVertexIndex(l);
+                if (mark[vertexIndex] >= 0) {
+                    mark[vertexIndex] = stamp;
+                }
+            }
+            int k = edges.length;
+            for (int j = from; j < to; j++) {
+                final int l = implications.targets[j];
+                final int vertexIndex = getVertexIndex(l);
+                if (mark[vertexIndex] >= 0 && mark[vertexIndex] != stamp) {
+                    mark[vertexIndex] = stamp;
+                    mergedEdges[k++] = l;
+                }
+            }
+            strong[i] = k == mergedEdges.length ? mergedEdges : Arrays.copyOf(mergedEdges, k);
+        }
+    }
 }
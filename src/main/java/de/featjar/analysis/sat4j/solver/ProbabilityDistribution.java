@@ -0,0 +1,70 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import java.util.Arrays;
+
+/**
+ * Selects the phase of each variable independently with a given probability for the positive literal.
+ * As the solver only decides variables that are not implied by earlier decisions, the frequency of a literal in the
+ * resulting configurations approximates, but does not necessarily equal, its target probability.
+ *
+ * @author Sebastian Krieter
+ */
+public class ProbabilityDistribution extends ALiteralDistribution {
+
+    private static final long serialVersionUID = 4727512006415307795L;
+
+    private final double[] probabilities;
+
+    /**
+     * Creates a new distribution.
+     *
+     * @param probabilities for each variable index (starting at zero), the probability of selecting the positive
+     *                      literal
+     */
+    public ProbabilityDistribution(double[] probabilities) {
+        for (double probability : probabilities) {
+            if (!(probability >= 0 && probability <= 1)) {
+                throw new IllegalArgumentException("Probability must be within [0, 1], but was " + probability);
+            }
+        }
+        this.probabilities = Arrays.copyOf(probabilities, probabilities.length);
+    }
+
+    public double getProbability(int var) {
+        return probabilities[var - 1];
+    }
+
+    @Override
+    public void reset() {}
+
+    @Override
+    public void set(int literal) {}
+
+    @Override
+    public void unset(int var) {}
+
+    @Override
+    public int getRandomLiteral(int var) {
+        return random.nextDouble() < probabilities[var - 1] ? var : -var;
+    }
+}
@@ -24,10 +24,8 @@ import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanClause;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.LinkedList;
 import org.sat4j.core.VecInt;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
@@ -42,12 +40,30 @@ import org.sat4j.specs.IConstr;
  */
 public class SAT4JClauseList extends BooleanAssignmentList {
     protected final SAT4JSolver solver;
-    protected final LinkedList<IConstr> addedConstraints = new LinkedList<>();
+    /**
+     * Stack of constraint handles, contains {@code null} for clauses that were not added to the solver.
+     */
+    protected IConstr[] addedConstraints = new IConstr[16];
+
+    protected int addedConstraintsSize;
+    protected int contradictionIndex = -1;
+
+    /**
+     * Number of constraints at the bottom of the stack that were loaded directly into the solver
+     * (see {@link #loadClause(int[], int)}).
+     * These constraints cannot be removed and their clauses are not stored in this list.
+     */
+    protected int loadedConstraintsSize;
+
+    /**
+     * Reused buffer for passing clauses to the solver. Sat4J copies the literals of each clause it adds.
+     */
+    protected final VecInt literalBuffer = new VecInt();
 
     public SAT4JClauseList(SAT4JSolver solver, BooleanAssignmentList other) {
         super(other);
         this.solver = solver;
-        assignments.forEach(this::addConstraint);
+        addConstraints(assignments);
     }
 
     @Override
@@ -67,13 +83,88 @@ public class SAT4JClauseList extends BooleanAssignmentList {
     }
 
     protected void addConstraint(int... integers) {
+        ensureConstraintCapacity(addedConstraintsSize + 1);
+        pushConstraint(integers);
+    }
+
+    protected void addConstraints(Collection<? extends BooleanAssignment> clauses) {
+        ensureConstraintCapacity(addedConstraintsSize + clauses.size());
+        for (final BooleanAssignment clause : clauses) {
+            pushConstraint(clause.get());
+        }
+    }
+
+    private void pushConstraint(int[] integers) {
+        pushConstraint(integers, integers.length);
+    }
+
+    private void pushConstraint(int[] integers, int length) {
+        // Sat4J may modify the given vector (e.g., Xplain appends a selector), so it is refilled for each clause
+        literalBuffer.clear();
+        literalBuffer.ensure(length + 1);
+        for (int i = 0; i < length; i++) {
+            literalBuffer.unsafePush(integers[i]);
+        }
+        IConstr constraint;
         try {
-            addedConstraints.add(solver.internalSolver.addClause(new VecInt(Arrays.copyOf(integers, integers.length))));
+            constraint = solver.internalSolver.addClause(literalBuffer);
         } catch (ContradictionException e) {
-            solver.trivialContradictionFound = true;
+            if (!solver.trivialContradictionFound) {
+                contradictionIndex = addedConstraintsSize;
+                solver.trivialContradictionFound = true;
+            }
+            constraint = null;
+        }
+        addedConstraints[addedConstraintsSize++] = constraint;
+    }
+
+    private void ensureConstraintCapacity(int capacity) {
+        if (capacity > addedConstraints.length) {
+            addedConstraints = Arrays.copyOf(addedConstraints, Math.max(capacity, 2 * addedConstraints.length));
         }
     }
 
+    /**
+     * Adds clauses to the solver without storing them in this list, keeping only their constraint handles.
+     * Streamed clauses are permanent and must be added before any other clause.
+     *
+     * @param clauses the clauses
+     */
+    public void loadClauses(Iterable<? extends BooleanAssignment> clauses) {
+        if (clauses instanceof Collection) {
+            ensureConstraintCapacity(addedConstraintsSize + ((Collection<?>) clauses).size());
+        }
+        for (final BooleanAssignment clause : clauses) {
+            loadClause(clause.get(), clause.size());
+        }
+    }
+
+    /**
+     * Adds a clause to the solver without storing it in this list, keeping only its constraint handle.
+     * Streamed clauses are permanent and must be added before any other clause.
+     * The given array is not retained and can be reused by the caller.
+     *
+     * @param literals the array containing the literals of the clause
+     * @param length the number of literals in the array that belong to the clause
+     */
+    public void loadClause(int[] literals, int length) {
+        if (addedConstraintsSize != loadedConstraintsSize) {
+            throw new IllegalStateException("Clauses can only be loaded before other clauses are added");
+        }
+        ensureConstraintCapacity(addedConstraintsSize + 1);
+        pushConstraint(literals, length);
+        loadedConstraintsSize++;
+    }
+
+    /**
+     * Returns the number of clauses that were loaded directly into the solver.
+     *
+     * @return the number of loaded clauses
+     */
+    public int getLoadedClauseCount() {
+        return loadedConstraintsSize;
+    }
+
     @Override
     public void add(BooleanAssignment clause) {
         addConstraint(clause.get());
@@ -86,34 +177,29 @@ public class SAT4JClauseList extends BooleanAssignmentList {
 
     @Override
     public void addAll(Collection<? extends BooleanAssignment> clauses) {
-        final ArrayList<IConstr> constraints = new ArrayList<>();
-        for (final BooleanAssignment clause : clauses) {
-            try {
-                constraints.add(
-                        solver.internalSolver.addClause(new VecInt(Arrays.copyOf(clause.get(), clause.size()))));
-            } catch (ContradictionException e) {
-                for (final IConstr constraint : constraints) {
-                    solver.internalSolver.removeConstr(constraint);
-                }
-                solver.trivialContradictionFound = true;
-            }
-        }
-        addedConstraints.addAll(constraints);
+        addConstraints(clauses);
         super.addAll(clauses);
     }
 
     @Override
     public Result<BooleanAssignment> remove() {
-        if (addedConstraints.size() > 0) {
-            final IConstr lastConstraint = addedConstraints.pop();
-            solver.internalSolver.removeConstr(lastConstraint);
+        if (addedConstraintsSize > loadedConstraintsSize) {
+            final IConstr lastConstraint = addedConstraints[--addedConstraintsSize];
+            addedConstraints[addedConstraintsSize] = null;
+            if (lastConstraint != null) {
+                solver.internalSolver.removeConstr(lastConstraint);
+            }
+            if (addedConstraintsSize == contradictionIndex) {
+                contradictionIndex = -1;
+                solver.trivialContradictionFound = false;
+            }
         }
         return super.remove();
     }
 
     @Override
     public void clear() {
-        while (addedConstraints.size() > 0) remove();
+        while (addedConstraintsSize > loadedConstraintsSize) remove();
         super.clear();
     }
 }
@@ -23,8 +23,11 @@ package de.featjar.analysis.sat4j.solver;
 import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import org.sat4j.minisat.SolverFactory;
@@ -37,8 +40,13 @@ import org.sat4j.tools.xplain.Xplain;
  *
  * <br>
  * <br>
- * Sat4J only support the extraction of one minimal unsatisfiable subset, thus
+ * Sat4J only supports the extraction of one minimal unsatisfiable subset, thus
  * {@link #getAllMinimalUnsatisfiableSubsets()} only returns one solution.
+ * Multiple minimal unsatisfiable subsets can be enumerated with the MARCO algorithm
+ * (see {@link #enumerateMinimalUnsatisfiableSubsets(int, Duration, Consumer)}), which may take exponential time.
+ * A map solver tracks the unexplored subsets of clauses.
+ * Unexplored subsets are checked by a {@link SAT4JSelectorSolver} and are then either shrunk to a minimal
+ * unsatisfiable subset or grown to a maximal satisfiable subset.
  *
  * <br>
  * <br>
@@ -78,4 +86,96 @@ public class SAT4JExplanationSolver extends SAT4JSolver {
         return Result.of(
                 Collections.singletonList(getMinimalUnsatisfiableSubset().get()));
     }
+
+    /**
+     * Enumerates minimal unsatisfiable subsets of the clauses in {@link #getClauseList()} with the MARCO algorithm.
+     * The current assumptions of this solver are treated as hard constraints.
+     * Each subset is passed to the given consumer as soon as it is found.
+     *
+     * @param limit the maximum number of subsets, values less than one enumerate all subsets
+     * @param timeBudget the maximum duration of the enumeration, {@link Duration#ZERO} for no limit
+     * @param consumer receives each minimal unsatisfiable subset
+     * @return {@code true} if all subsets were enumerated, {@code false} if the limit or time budget was reached,
+     *         or an empty result if a solver call timed out
+     */
+    public Result<Boolean> enumerateMinimalUnsatisfiableSubsets(
+            int limit, Duration timeBudget, Consumer<List<BooleanAssignment>> consumer) {
+        final long deadline = timeBudget.isZero() ? Long.MAX_VALUE : System.nanoTime() + timeBudget.toNanos();
+        final SAT4JClauseList clauses = getClauseList();
+        final int clauseCount = clauses.size();
+
+        final SAT4JSolutionSolver checkSolver =
+                new SAT4JSolutionSolver(new BooleanAssignmentList(clauses.getVariableMap()));
+        checkSolver.setTimeout(timeout);
+        checkSolver.getAssignment().addAll(assignment.get());
+        final SAT4JSelectorSolver checker = new SAT4JSelectorSolver(checkSolver, clauses.getAll());
+
+        final SAT4JSolutionSolver mapSolver =
+                new SAT4JSolutionSolver(new BooleanAssignmentList(clauses.getVariableMap()));
+        final int mapSelector = mapSolver.addVariables(clauseCount);
+        if (clauseCount > 0) {
+            // mentions every selector once, see SAT4JSolver
+            final int[] pseudoClause = new int[clauseCount + 1];
+            for (int i = 0; i < clauseCount; i++) {
+                pseudoClause[i] = mapSelector + i;
+            }
+            pseudoClause[clauseCount] = -mapSelector;
+            mapSolver.getClauseList().add(pseudoClause);
+        }
+
+        int count = 0;
+        while (true) {
+            if (System.nanoTime() > deadline) {
+                return Result.of(Boolean.FALSE);
+            }
+            final Result<Boolean> hasSeed = mapSolver.hasSolution();
+            if (hasSeed.isEmpty()) {
+                return hasSeed;
+            } else if (hasSeed.valueEquals(Boolean.FALSE)) {
+                return Result.of(Boolean.TRUE);
+            }
+            final int[] mapModel = mapSolver.getInternalSolution();
+            final boolean[] seed = new boolean[clauseCount];
+            for (int i = 0; i < clauseCount; i++) {
+                final int index = mapSelector + i - 1;
+                seed[i] = index < mapModel.length && mapModel[index] > 0;
+            }
+
+            final Result<Boolean> seedIsSatisfiable = checker.hasSolution(seed);
+            if (seedIsSatisfiable.isEmpty()) {
+                return seedIsSatisfiable;
+            } else if (seedIsSatisfiable.valueEquals(Boolean.TRUE)) {
+                if (!checker.grow(seed)) {
+                    return Result.empty(de.featjar.analysis.ISolver.getTimeoutProblem(null));
+                }
+                final ArrayList<Integer> blockingClause = new ArrayList<>();
+                for (int i = 0; i < clauseCount; i++) {
+                    if (!seed[i]) {
+                        blockingClause.add(mapSelector + i);
+                    }
+                }
+                if (blockingClause.isEmpty()) {
+                    return Result.of(Boolean.TRUE);
+                }
+                mapSolver.getClauseList().add(blockingClause.stream().mapToInt(Integer::intValue).toArray());
+            } else {
+                if (!checker.shrink(seed)) {
+                    return Result.empty(de.featjar.analysis.ISolver.getTimeoutProblem(null));
+                }
+                final ArrayList<BooleanAssignment> subset = new ArrayList<>();
+                final ArrayList<Integer> blockingClause = new ArrayList<>();
+                for (int i = 0; i < clauseCount; i++) {
+                    if (seed[i]) {
+                        subset.add(clauses.get(i));
+                        blockingClause.add(-(mapSelector + i));
+                    }
+                }
+                consumer.accept(subset);
+                if (blockingClause.isEmpty() || (limit > 0 && ++count >= limit)) {
+                    return Result.of(blockingClause.isEmpty());
+                }
+                mapSolver.getClauseList().add(blockingClause.stream().mapToInt(Integer::intValue).toArray());
+            }
+        }
+    }
 }
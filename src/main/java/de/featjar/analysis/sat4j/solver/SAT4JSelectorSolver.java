@@ -0,0 +1,180 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.base.data.Result;
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.List;
+
+/**
+ * Checks subsets of clauses on a {@link SAT4JSolutionSolver}.
+ * Each clause is guarded by a selector variable and enabled by assuming it,
+ * such that the solver never has to remove constraints and keeps its learned clauses.
+ * Provides deletion-based extraction of minimal unsatisfiable subsets, which trims the subset to the failed
+ * assumptions of the solver after each unsatisfiable check (i.e., clause-set refinement),
+ * and the extension of satisfiable subsets to maximal satisfiable subsets.
+ *
+ * @author Sebastian Krieter
+ */
+public class SAT4JSelectorSolver {
+    private final SAT4JSolutionSolver solver;
+    private final int firstSelector;
+    private final int clauseCount;
+    private final int[][] clauses;
+
+    /**
+     * Adds the given clauses guarded by new selector variables to the given solver.
+     * The current assumptions of the solver are treated as hard constraints.
+     *
+     * @param solver the solver
+     * @param clauses the clauses
+     */
+    public SAT4JSelectorSolver(SAT4JSolutionSolver solver, List<? extends BooleanAssignment> clauses) {
+        this.solver = solver;
+        clauseCount = clauses.size();
+        this.clauses = new int[clauseCount][];
+        firstSelector = solver.addVariables(clauseCount);
+        solver.setSelectionStrategy(ISelectionStrategy.original());
+        for (int i = 0; i < clauseCount; i++) {
+            final int[] literals = clauses.get(i).get();
+            this.clauses[i] = literals;
+            final int[] guardedLiterals = new int[literals.length + 1];
+            System.arraycopy(literals, 0, guardedLiterals, 0, literals.length);
+            guardedLiterals[literals.length] = -(firstSelector + i);
+            solver.getClauseList().add(guardedLiterals);
+        }
+    }
+
+    public SAT4JSolutionSolver getSolver() {
+        return solver;
+    }
+
+    public int getClauseCount() {
+        return clauseCount;
+    }
+
+    /**
+     * Checks whether a subset of the clauses is satisfiable.
+     *
+     * @param subset marks the clauses contained in the subset
+     * @return whether the subset is satisfiable, or an empty result on timeout
+     */
+    public Result<Boolean> hasSolution(boolean[] subset) {
+        final SAT4JAssignment assignment = solver.getAssignment();
+        final int assumptionCount = assignment.size();
+        for (int i = 0; i < clauseCount; i++) {
+            if (subset[i]) {
+                assignment.add(firstSelector + i);
+            }
+        }
+        try {
+            return solver.hasSolution();
+        } finally {
+            assignment.clear(assumptionCount);
+        }
+    }
+
+    /**
+     * Removes all clauses from a subset that are not part of the failed assumptions of the last unsatisfiable check.
+     *
+     * @param subset marks the clauses contained in the subset
+     */
+    public void trim(boolean[] subset) {
+        final boolean[] core = new boolean[clauseCount];
+        for (int literal : solver.getUnsatExplanation()) {
+            final int index = Math.abs(literal) - firstSelector;
+            if (index >= 0 && index < clauseCount) {
+                core[index] = true;
+            }
+        }
+        for (int i = 0; i < clauseCount; i++) {
+            subset[i] &= core[i];
+        }
+    }
+
+    /**
+     * Shrinks an unsatisfiable subset to a minimal unsatisfiable subset by deletion,
+     * trimming the subset to the failed assumptions after each unsatisfiable check.
+     * The last check of the solver must be the unsatisfiable check of the given subset.
+     *
+     * @param subset marks the clauses contained in the subset, is modified in place
+     * @return {@code false} if a solver call timed out
+     */
+    public boolean shrink(boolean[] subset) {
+        trim(subset);
+        for (int i = 0; i < clauseCount; i++) {
+            if (subset[i]) {
+                subset[i] = false;
+                final Result<Boolean> hasSolution = hasSolution(subset);
+                if (hasSolution.isEmpty()) {
+                    return false;
+                } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    subset[i] = true;
+                } else {
+                    trim(subset);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Grows a satisfiable subset to a maximal satisfiable subset.
+     * All clauses satisfied by a found solution are added without further checks.
+     * The last check of the solver must be the satisfiable check of the given subset.
+     *
+     * @param subset marks the clauses contained in the subset, is modified in place
+     * @return {@code false} if a solver call timed out
+     */
+    public boolean grow(boolean[] subset) {
+        addSatisfiedClauses(subset);
+        for (int i = 0; i < clauseCount; i++) {
+            if (!subset[i]) {
+                subset[i] = true;
+                final Result<Boolean> hasSolution = hasSolution(subset);
+                if (hasSolution.isEmpty()) {
+                    return false;
+                } else if (hasSolution.valueEquals(Boolean.TRUE)) {
+                    addSatisfiedClauses(subset);
+                } else {
+                    subset[i] = false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void addSatisfiedClauses(boolean[] subset) {
+        final int[] model = solver.getInternalSolution();
+        clauseLoop:
+        for (int i = 0; i < clauseCount; i++) {
+            if (!subset[i]) {
+                for (int literal : clauses[i]) {
+                    final int index = Math.abs(literal) - 1;
+                    if (index < model.length && model[index] == literal) {
+                        subset[i] = true;
+                        continue clauseLoop;
+                    }
+                }
+            }
+        }
+    }
+}
@@ -44,6 +44,7 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import org.sat4j.minisat.SolverFactory;
 import org.sat4j.minisat.core.IOrder;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
 import org.sat4j.minisat.core.Solver;
 import org.sat4j.minisat.orders.NegativeLiteralSelectionStrategy;
 import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
@@ -58,6 +59,7 @@ import org.sat4j.minisat.orders.VarOrderHeap;
 public class SAT4JSolutionSolver extends SAT4JSolver {
     protected final int[] order;
     protected ISelectionStrategy strategy;
+    private FixedOrderHeap fixedOrderHeap;
 
     public static List<Result<Boolean>> parallelSolve(
             Supplier<SAT4JSolutionSolver> solverGenerator, List<BooleanClause> problems) {
@@ -138,33 +140,41 @@ public class SAT4JSolutionSolver extends SAT4JSolver {
         ((Solver<?>) internalSolver).getOrder().init();
     }
 
+    /**
+     * Returns the fixed order heap of this solver with the given phase selection strategy.
+     * The heap is created once and reused for all strategies, as it reads the order array on each initialization.
+     */
+    private FixedOrderHeap getFixedOrderHeap(IPhaseSelectionStrategy phaseSelectionStrategy) {
+        if (fixedOrderHeap == null) {
+            fixedOrderHeap = new FixedOrderHeap(phaseSelectionStrategy, order);
+        } else {
+            fixedOrderHeap.setPhaseSelectionStrategy(phaseSelectionStrategy);
+        }
+        return fixedOrderHeap;
+    }
+
     public void setSelectionStrategy(ISelectionStrategy strategy) {
         this.strategy = strategy;
         switch (strategy.strategy()) {
             case FAST_RANDOM:
-                setSelectionStrategy(new FixedOrderHeap(new RandomSelectionStrategy(), order));
+                setSelectionStrategy(getFixedOrderHeap(new RandomSelectionStrategy()));
                 break;
             case FIXED:
-                setSelectionStrategy(
-                        new FixedOrderHeap( //
-                                new FixedLiteralSelectionStrategy(((FixedStrategy) strategy).getModel()), //
-                                order));
+                setSelectionStrategy(getFixedOrderHeap(
+                        new FixedLiteralSelectionStrategy(((FixedStrategy) strategy).getModel())));
                 break;
             case INVERSE_FIXED:
-                setSelectionStrategy(
-                        new FixedOrderHeap( //
-                                new InverseFixedLiteralSelectionStrategy(
-                                        ((InverseFixedStrategy) strategy).getModel()), //
-                                order));
+                setSelectionStrategy(getFixedOrderHeap(
+                        new InverseFixedLiteralSelectionStrategy(((InverseFixedStrategy) strategy).getModel())));
                 break;
             case NEGATIVE:
-                setSelectionStrategy(new FixedOrderHeap(new NegativeLiteralSelectionStrategy(), order));
+                setSelectionStrategy(getFixedOrderHeap(new NegativeLiteralSelectionStrategy()));
                 break;
             case ORIGINAL:
                 setSelectionStrategy(new VarOrderHeap(new RSATPhaseSelectionStrategy()));
                 break;
             case POSITIVE:
-                setSelectionStrategy(new FixedOrderHeap(new PositiveLiteralSelectionStrategy(), order));
+                setSelectionStrategy(getFixedOrderHeap(new PositiveLiteralSelectionStrategy()));
                 break;
             case UNIFORM_RANDOM:
                 setSelectionStrategy(new FixedOrderHeap2(
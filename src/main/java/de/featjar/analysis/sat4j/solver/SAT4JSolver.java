@@ -20,17 +20,21 @@
  */
 package de.featjar.analysis.sat4j.solver;
 
-import de.featjar.base.FeatJAR;
 import de.featjar.base.data.Result;
 import de.featjar.formula.assignment.BooleanAssignment;
 import de.featjar.formula.assignment.BooleanAssignmentList;
 import de.featjar.formula.assignment.BooleanSolution;
 import java.time.Duration;
 import java.util.Arrays;
+import java.util.Map;
 import java.util.Objects;
+import java.util.function.Function;
 import org.sat4j.core.VecInt;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.minisat.core.SolverStats;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
 import org.sat4j.specs.TimeoutException;
 
 /**
@@ -49,21 +53,69 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
     protected boolean isTimeoutOccurred;
     protected boolean trivialContradictionFound;
 
+    protected final SolverMetrics metrics = new SolverMetrics();
+    protected SolverMetrics sharedMetrics;
+    protected boolean statisticsEnabled;
+
+    /**
+     * Returns the number of calls to Sat4J made by all solvers since the start of the JVM.
+     * The difference between two calls can be used to measure the solver calls of an analysis running in between.
+     *
+     * @return the number of calls
+     * @see SolverMetrics#global()
+     */
+    public static long getTotalCallCount() {
+        return SolverMetrics.global().getCallCount();
+    }
+
     public static void initializeSolver(
             SAT4JSolver solver,
             BooleanAssignmentList clauseList,
             BooleanAssignment assumedAssignment,
             BooleanAssignmentList assumedClauseList,
             Duration timeout) {
-        FeatJAR.log().debug("initializing SAT4J");
-        FeatJAR.log().debug("variables %s", clauseList.getVariableMap());
-        FeatJAR.log().debug("clauses %s", clauseList);
-        FeatJAR.log().debug("assuming %s", assumedAssignment);
-        FeatJAR.log().debug("assuming %s", assumedClauseList);
+        final SolverTrace.SolverInitializationEvent event = new SolverTrace.SolverInitializationEvent();
+        event.begin();
+        if (SolverTrace.DEBUG) {
+            SolverTrace.debug("initializing SAT4J");
+            SolverTrace.debug("variables %s", clauseList.getVariableMap().size());
+            SolverTrace.debug("clauses %s", clauseList.size());
+            SolverTrace.debug("assuming %s literals", assumedAssignment.size());
+            SolverTrace.debug("assuming %s clauses", assumedClauseList.size());
+        }
         solver.getClauseList().addAll(assumedClauseList);
         solver.getAssignment().addAll(assumedAssignment);
         solver.setTimeout(timeout);
         solver.setGlobalTimeout(true);
+        event.end();
+        if (event.shouldCommit()) {
+            event.variableCount = clauseList.getVariableMap().size();
+            event.clauseCount = clauseList.size();
+            event.assumedLiteralCount = assumedAssignment.size();
+            event.assumedClauseCount = assumedClauseList.size();
+            event.commit();
+        }
+    }
+
+    /**
+     * Creates a lightweight solver that streams the given clauses directly into Sat4J.
+     * In contrast to passing the clauses to the constructor, the solver does not copy the clause list and
+     * only keeps the constraint handles (see {@link SAT4JClauseList#loadClauses(Iterable)}).
+     * Thus, the streamed clauses cannot be removed and are not contained in {@link #getClauseList()}.
+     *
+     * @param <T> the type of the solver
+     * @param clauseList the clause list
+     * @param solverFactory creates a solver from an empty clause list with the same variable map
+     * @return a new solver containing the given clauses
+     */
+    public static <T extends SAT4JSolver> T createStreaming(
+            BooleanAssignmentList clauseList, Function<BooleanAssignmentList, T> solverFactory) {
+        final T solver = solverFactory.apply(new BooleanAssignmentList(clauseList.getVariableMap()));
+        if (!clauseList.isEmpty()) {
+            solver.internalSolver.setExpectedNumberOfClauses(clauseList.size() + 1);
+        }
+        solver.getClauseList().loadClauses(clauseList);
+        return solver;
     }
 
     /**
@@ -129,7 +181,9 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
     @Override
     public void setTimeout(Duration timeout) {
         Objects.requireNonNull(timeout);
-        FeatJAR.log().debug("setting timeout to " + timeout);
+        if (SolverTrace.DEBUG) {
+            SolverTrace.debug("setting timeout to %s", timeout);
+        }
         this.timeout = timeout;
         if (!timeout.isZero()) internalSolver.setTimeoutMs(timeout.toMillis());
         else internalSolver.expireTimeout();
@@ -168,22 +222,112 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
             return Result.of(Boolean.FALSE);
         }
 
+        final SolverTrace.SolverCallEvent event = new SolverTrace.SolverCallEvent();
+        event.begin();
+        final long[] statistics = statisticsEnabled || event.isEnabled() ? readStatistics() : null;
+        final long start = System.nanoTime();
         try {
-            FeatJAR.log().debug("calling SAT4J");
             if (internalSolver.isSatisfiable(integers, globalTimeout)) {
-                FeatJAR.log().debug("has solution");
+                recordCall(Boolean.TRUE, start, statistics, integers, event);
                 return Result.of(Boolean.TRUE);
             } else {
-                FeatJAR.log().debug("no solution");
+                recordCall(Boolean.FALSE, start, statistics, integers, event);
                 return Result.of(Boolean.FALSE);
             }
         } catch (final TimeoutException e) {
-            FeatJAR.log().debug("solver timeout occurred");
+            recordCall(null, start, statistics, integers, event);
             isTimeoutOccurred = true;
             return Result.empty(de.featjar.analysis.ISolver.getTimeoutProblem(null));
         }
     }
 
+    /**
+     * Records a call in all metrics and emits its JFR event.
+     * The counters of Sat4J are only compared if they were read before the call.
+     */
+    private void recordCall(
+            Boolean result, long start, long[] statistics, VecInt integers, SolverTrace.SolverCallEvent event) {
+        final long nanos = System.nanoTime() - start;
+        event.end();
+        long conflicts = 0, decisions = 0, propagations = 0;
+        if (statistics != null) {
+            final long[] newStatistics = readStatistics();
+            // Sat4J's counters are cumulative, but may be reset by the solver
+            conflicts = delta(statistics[0], newStatistics[0]);
+            decisions = delta(statistics[1], newStatistics[1]);
+            propagations = delta(statistics[2], newStatistics[2]);
+        }
+
+        metrics.record(result, nanos, conflicts, decisions, propagations);
+        SolverMetrics.global().record(result, nanos, conflicts, decisions, propagations);
+        if (sharedMetrics != null) {
+            sharedMetrics.record(result, nanos, conflicts, decisions, propagations);
+        }
+        if (event.shouldCommit()) {
+            event.result = result == null ? "TIMEOUT" : result ? "SAT" : "UNSAT";
+            event.assumptionCount = integers.size();
+            event.conflicts = conflicts;
+            event.decisions = decisions;
+            event.propagations = propagations;
+            event.commit();
+        }
+    }
+
+    /**
+     * Reads the cumulative numbers of conflicts, decisions, and propagations of Sat4J.
+     */
+    private long[] readStatistics() {
+        if (internalSolver instanceof Solver) {
+            final SolverStats statistics = ((Solver<?>) internalSolver).getStats();
+            return new long[] {statistics.getConflicts(), statistics.getDecisions(), statistics.getPropagations()};
+        }
+        final Map<String, Number> statistics = internalSolver.getStat();
+        return new long[] {
+            getStatistic(statistics, "conflicts"),
+            getStatistic(statistics, "decisions"),
+            getStatistic(statistics, "propagations")
+        };
+    }
+
+    private static long delta(long before, long after) {
+        return after >= before ? after - before : after;
+    }
+
+    private static long getStatistic(Map<String, Number> statistics, String key) {
+        final Number value = statistics.get(key);
+        return value != null ? value.longValue() : 0;
+    }
+
+    /**
+     * Returns the metrics of all calls to Sat4J made by this solver.
+     *
+     * @return the metrics of this solver
+     */
+    public SolverMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Sets additional metrics that record all calls of this solver (e.g., the metrics of an analysis, which are shared
+     * by all of its solvers).
+     *
+     * @param sharedMetrics the metrics, may be {@code null}
+     */
+    public void setSharedMetrics(SolverMetrics sharedMetrics) {
+        this.sharedMetrics = sharedMetrics;
+    }
+
+    /**
+     * Sets whether the numbers of conflicts, decisions, and propagations of each call are recorded in the metrics.
+     * Reading these counters from Sat4J adds overhead to each call, so they are only recorded if enabled or if the
+     * JFR event of the call is recorded. Otherwise, the metrics only contain the outcome and latency of each call.
+     *
+     * @param statisticsEnabled whether to record the counters of Sat4J
+     */
+    public void setStatisticsEnabled(boolean statisticsEnabled) {
+        this.statisticsEnabled = statisticsEnabled;
+    }
+
     public Result<Boolean> hasSolution() {
         return hasSolution(assignment.getIntegers());
     }
@@ -208,4 +352,44 @@ public abstract class SAT4JSolver implements de.featjar.analysis.ISolver {
     public int[] getInternalSolution() {
         return internalSolver.model();
     }
+
+    /**
+     * Returns a prime implicant of the last found solution, that is, a minimal subset of its literals that satisfies
+     * all clauses of the solver. Assumptions are not considered.
+     *
+     * @return the literals of the prime implicant
+     */
+    public int[] getInternalPrimeImplicant() {
+        return internalSolver.primeImplicant();
+    }
+
+    /**
+     * Adds new variables to the solver that are not part of the variable map (e.g., selector variables).
+     * New variables must be mentioned by at least one clause and are only decided by selection strategies that do
+     * not use a fixed order (see {@link ISelectionStrategy#original()}).
+     * Solutions of the internal solver contain the new variables.
+     *
+     * @param count the number of variables to add
+     * @return the index of the first new variable
+     */
+    public int addVariables(int count) {
+        final int firstVariable = internalSolver.nVars() + 1;
+        internalSolver.newVar(firstVariable - 1 + count);
+        return firstVariable;
+    }
+
+    /**
+     * Returns a subset of the assumptions of the last unsatisfiable call that is sufficient for unsatisfiability.
+     *
+     * @return the failed assumptions, or an empty array if none are available
+     */
+    public int[] getUnsatExplanation() {
+        final IVecInt explanation = internalSolver.unsatExplanation();
+        if (explanation == null) {
+            return new int[0];
+        }
+        final int[] literals = new int[explanation.size()];
+        explanation.copyTo(literals);
+        return literals;
+    }
 }
@@ -21,14 +21,17 @@
 package de.featjar.analysis.sat4j.solver;
 
 import de.featjar.formula.assignment.BooleanAssignment;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.List;
 
 /**
  * Uses a sample of configurations to achieve a phase selection that corresponds
  * to a uniform distribution of configurations in the configuration space.
+ * A sample configuration is active if it does not contradict any currently set
+ * literal. For each variable, the number of active configurations in which it is
+ * not negative is maintained incrementally, such that selecting a phase takes
+ * constant time. Setting and unsetting a literal only visits the configurations
+ * containing its complement, which are looked up in per-literal bit masks.
  *
  * @author Sebastian Krieter
  */
@@ -36,21 +39,77 @@ public class SampleDistribution extends ALiteralDistribution {
 
     private static final long serialVersionUID = -3902620512089122369L;
 
-    private final ArrayList<BooleanAssignment> samples = new ArrayList<>();
-    private int startIndex;
+    private final int sampleCount;
+    private final int variableCount;
+
+    /**
+     * Literals of all configurations, configuration by configuration.
+     */
+    private final int[] sampleLiterals;
+
+    /**
+     * For each variable, the configurations in which it is positive.
+     */
+    private final long[][] positiveMasks;
+
+    /**
+     * For each variable, the configurations in which it is negative.
+     */
+    private final long[][] negativeMasks;
+
+    /**
+     * For each configuration, the number of set literals it contradicts.
+     */
+    private final int[] conflicts;
+
+    private final long[] activeMask;
+    private int activeCount;
+
+    /**
+     * For each variable, the number of active configurations in which it is not negative.
+     */
+    private final int[] positiveCounts;
 
     private final byte[] model;
 
     public SampleDistribution(List<BooleanAssignment> sample) {
-        samples.addAll(sample);
-        startIndex = 0;
-        model = new byte[sample.get(0).size()];
+        sampleCount = sample.size();
+        variableCount = sample.get(0).size();
+        final int wordCount = (sampleCount + Long.SIZE - 1) / Long.SIZE;
+        sampleLiterals = new int[sampleCount * variableCount];
+        positiveMasks = new long[variableCount][wordCount];
+        negativeMasks = new long[variableCount][wordCount];
+        conflicts = new int[sampleCount];
+        activeMask = new long[wordCount];
+        positiveCounts = new int[variableCount];
+        model = new byte[variableCount];
+
+        for (int s = 0; s < sampleCount; s++) {
+            final int[] literals = sample.get(s).get();
+            System.arraycopy(literals, 0, sampleLiterals, s * variableCount, variableCount);
+            final int word = s / Long.SIZE;
+            final long bit = 1L << s;
+            for (int i = 0; i < variableCount; i++) {
+                if (literals[i] > 0) {
+                    positiveMasks[i][word] |= bit;
+                } else if (literals[i] < 0) {
+                    negativeMasks[i][word] |= bit;
+                }
+            }
+        }
+        reset();
     }
 
     @Override
     public void reset() {
         Arrays.fill(model, (byte) 0);
-        startIndex = 0;
+        Arrays.fill(conflicts, 0);
+        Arrays.fill(positiveCounts, 0);
+        Arrays.fill(activeMask, 0);
+        activeCount = 0;
+        for (int s = 0; s < sampleCount; s++) {
+            activate(s);
+        }
     }
 
     @Override
@@ -59,10 +118,15 @@ public class SampleDistribution extends ALiteralDistribution {
         final byte sign = model[index];
         if (sign != 0) {
             model[index] = 0;
-            final int literal = sign > 0 ? var : -var;
-            for (int i = 0; i < startIndex; i++) {
-                if (samples.get(i).get()[index] == -literal) {
-                    Collections.swap(samples, i--, --startIndex);
+            final long[] contradicting = sign > 0 ? negativeMasks[index] : positiveMasks[index];
+            for (int word = 0; word < contradicting.length; word++) {
+                long bits = contradicting[word];
+                while (bits != 0) {
+                    final int s = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (--conflicts[s] == 0) {
+                        activate(s);
+                    }
                 }
             }
         }
@@ -73,32 +137,72 @@ public class SampleDistribution extends ALiteralDistribution {
         final int index = Math.abs(literal) - 1;
         if (model[index] == 0) {
             model[index] = (byte) (literal > 0 ? 1 : -1);
-            for (int i = startIndex; i < samples.size(); i++) {
-                if (samples.get(i).get()[index] == -literal) {
-                    Collections.swap(samples, i, startIndex++);
+            final long[] contradicting = literal > 0 ? negativeMasks[index] : positiveMasks[index];
+            for (int word = 0; word < contradicting.length; word++) {
+                long bits = contradicting[word];
+                while (bits != 0) {
+                    final int s = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    if (conflicts[s]++ == 0) {
+                        deactivate(s);
+                    }
                 }
             }
         }
     }
 
+    private void activate(int s) {
+        activeMask[s / Long.SIZE] |= 1L << s;
+        activeCount++;
+        final int offset = s * variableCount;
+        for (int i = 0; i < variableCount; i++) {
+            positiveCounts[i] += (~sampleLiterals[offset + i]) >>> 31;
+        }
+    }
+
+    private void deactivate(int s) {
+        activeMask[s / Long.SIZE] &= ~(1L << s);
+        activeCount--;
+        final int offset = s * variableCount;
+        for (int i = 0; i < variableCount; i++) {
+            positiveCounts[i] -= (~sampleLiterals[offset + i]) >>> 31;
+        }
+    }
+
     @Override
     public int getRandomLiteral(int var) {
-        if (samples.size() > (startIndex + 1)) {
-            return (random.nextInt((samples.size() - startIndex) + 2) < (getPositiveCount(var - 1) + 1)) ? var : -var;
+        if (activeCount > 1) {
+            return (random.nextInt(activeCount + 2) < (getPositiveCount(var - 1) + 1)) ? var : -var;
         } else {
             return random.nextBoolean() ? var : -var;
         }
     }
 
+    /**
+     * Returns the number of active configurations in which the given variable is not negative.
+     *
+     * @param index the variable index, starting at zero
+     * @return the number of configurations
+     */
     public int getPositiveCount(int index) {
-        int sum = 0;
-        for (final BooleanAssignment l : samples.subList(startIndex, samples.size())) {
-            sum += (~l.get()[index]) >>> 31;
-        }
-        return sum;
+        return positiveCounts[index];
+    }
+
+    /**
+     * Returns whether the configuration at the given position does not contradict any set literal.
+     *
+     * @param index the index of the configuration in the sample
+     * @return {@code true} if the configuration is active
+     */
+    public boolean isActive(int index) {
+        return (activeMask[index / Long.SIZE] & (1L << index)) != 0;
+    }
+
+    public int getActiveCount() {
+        return activeCount;
     }
 
     public int getTotalCount() {
-        return samples.size() + startIndex;
+        return sampleCount;
     }
 }
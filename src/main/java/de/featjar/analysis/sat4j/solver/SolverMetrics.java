@@ -0,0 +1,283 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Thread-safe metrics of calls to Sat4J.
+ * Records the number of calls by their outcome, a latency histogram, and the number of conflicts, decisions, and
+ * propagations reported by Sat4J.
+ * Latencies are stored in logarithmic buckets with eight sub-buckets per power of two, such that percentiles have a
+ * relative error of at most 12.5%.
+ * The numbers of conflicts, decisions, and propagations are only recorded by solvers with enabled statistics (see
+ * {@link SAT4JSolver#setStatisticsEnabled(boolean)}).
+ *
+ * @author Sebastian Krieter
+ */
+public class SolverMetrics {
+
+    private static final SolverMetrics GLOBAL = new SolverMetrics(false);
+
+    /**
+     * Metrics that ignore all calls, e.g., to disable recording.
+     */
+    public static final SolverMetrics NONE = new SolverMetrics(false) {
+        @Override
+        public void record(Boolean result, long nanos, long conflicts, long decisions, long propagations) {}
+    };
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /**
+     * Returns the metrics of all solver calls since the start of the JVM.
+     * As all threads record into these metrics, they contain no latency histogram, which would be contended, and
+     * {@link #getLatencyPercentile(double)} always returns {@link Duration#ZERO}.
+     *
+     * @return the global metrics
+     */
+    public static SolverMetrics global() {
+        return GLOBAL;
+    }
+
+    static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) Math.max(0, nanos);
+        }
+        final int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        final int mantissa = (int) (nanos >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        final int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final long mantissa = bucket % SUB_BUCKETS;
+        return ((SUB_BUCKETS + mantissa + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private final LongAdder satisfiableCount = new LongAdder();
+    private final LongAdder unsatisfiableCount = new LongAdder();
+    private final LongAdder timeoutCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder decisions = new LongAdder();
+    private final LongAdder propagations = new LongAdder();
+    private final AtomicLongArray latencies;
+
+    public SolverMetrics() {
+        this(true);
+    }
+
+    private SolverMetrics(boolean recordLatencies) {
+        latencies = recordLatencies ? new AtomicLongArray(BUCKET_COUNT) : null;
+    }
+
+    /**
+     * Records a single solver call.
+     *
+     * @param result {@code true} if satisfiable, {@code false} if unsatisfiable, {@code null} if a timeout occurred
+     * @param nanos the duration of the call in nanoseconds
+     * @param conflicts the number of conflicts during the call
+     * @param decisions the number of decisions during the call
+     * @param propagations the number of propagations during the call
+     */
+    public void record(Boolean result, long nanos, long conflicts, long decisions, long propagations) {
+        if (result == null) {
+            timeoutCount.increment();
+        } else if (result) {
+            satisfiableCount.increment();
+        } else {
+            unsatisfiableCount.increment();
+        }
+        totalNanos.add(nanos);
+        if (latencies != null) {
+            latencies.incrementAndGet(bucketOf(nanos));
+        }
+        this.conflicts.add(conflicts);
+        this.decisions.add(decisions);
+        this.propagations.add(propagations);
+    }
+
+    /**
+     * Resets all metrics to zero.
+     * Calls that are recorded concurrently may be partially lost.
+     */
+    public void reset() {
+        satisfiableCount.reset();
+        unsatisfiableCount.reset();
+        timeoutCount.reset();
+        totalNanos.reset();
+        conflicts.reset();
+        decisions.reset();
+        propagations.reset();
+        if (latencies != null) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                latencies.set(i, 0);
+            }
+        }
+    }
+
+    public long getCallCount() {
+        return satisfiableCount.sum() + unsatisfiableCount.sum() + timeoutCount.sum();
+    }
+
+    public long getSatisfiableCount() {
+        return satisfiableCount.sum();
+    }
+
+    public long getUnsatisfiableCount() {
+        return unsatisfiableCount.sum();
+    }
+
+    public long getTimeoutCount() {
+        return timeoutCount.sum();
+    }
+
+    public Duration getTotalTime() {
+        return Duration.ofNanos(totalNanos.sum());
+    }
+
+    public long getConflicts() {
+        return conflicts.sum();
+    }
+
+    public long getDecisions() {
+        return decisions.sum();
+    }
+
+    public long getPropagations() {
+        return propagations.sum();
+    }
+
+    /**
+     * Returns an upper bound for the given percentile of the call latencies.
+     *
+     * @param percentile the percentile between 0 and 1 (e.g., 0.99)
+     * @return the latency, or {@link Duration#ZERO} if no call or latency was recorded
+     */
+    public Duration getLatencyPercentile(double percentile) {
+        if (percentile < 0 || percentile > 1) {
+            throw new IllegalArgumentException(String.valueOf(percentile));
+        }
+        if (latencies == null) {
+            return Duration.ZERO;
+        }
+        final long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = latencies.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return Duration.ZERO;
+        }
+        final long rank = Math.max(1, (long) Math.ceil(percentile * total));
+        long sum = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            sum += counts[i];
+            if (sum >= rank) {
+                return Duration.ofNanos(upperBoundOf(i));
+            }
+        }
+        return Duration.ofNanos(upperBoundOf(BUCKET_COUNT - 1));
+    }
+
+    /**
+     * Returns the metrics as a JSON object.
+     *
+     * @return the metrics in JSON format
+     */
+    public String toJSON() {
+        return String.format(
+                Locale.ROOT,
+                "{\"calls\": %d, \"satisfiable\": %d, \"unsatisfiable\": %d, \"timeout\": %d, "
+                        + "\"totalNanos\": %d, \"p50Nanos\": %d, \"p90Nanos\": %d, \"p99Nanos\": %d, "
+                        + "\"maxNanos\": %d, \"conflicts\": %d, \"decisions\": %d, \"propagations\": %d}",
+                getCallCount(),
+                getSatisfiableCount(),
+                getUnsatisfiableCount(),
+                getTimeoutCount(),
+                totalNanos.sum(),
+                getLatencyPercentile(0.5).toNanos(),
+                getLatencyPercentile(0.9).toNanos(),
+                getLatencyPercentile(0.99).toNanos(),
+                getLatencyPercentile(1).toNanos(),
+                getConflicts(),
+                getDecisions(),
+                getPropagations());
+    }
+
+    /**
+     * Returns the metrics in the Prometheus text exposition format.
+     *
+     * @param prefix the prefix of all metric names (e.g., {@code featjar_sat4j})
+     * @return the metrics in Prometheus format
+     */
+    public String toPrometheus(String prefix) {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("# TYPE ").append(prefix).append("_calls_total counter\n");
+        appendSample(sb, prefix + "_calls_total{result=\"sat\"}", getSatisfiableCount());
+        appendSample(sb, prefix + "_calls_total{result=\"unsat\"}", getUnsatisfiableCount());
+        appendSample(sb, prefix + "_calls_total{result=\"timeout\"}", getTimeoutCount());
+        sb.append("# TYPE ").append(prefix).append("_call_duration_seconds summary\n");
+        for (double quantile : new double[] {0.5, 0.9, 0.99}) {
+            sb.append(prefix)
+                    .append("_call_duration_seconds{quantile=\"")
+                    .append(quantile)
+                    .append("\"} ")
+                    .append(toSeconds(getLatencyPercentile(quantile).toNanos()))
+                    .append('\n');
+        }
+        sb.append(prefix)
+                .append("_call_duration_seconds_sum ")
+                .append(toSeconds(totalNanos.sum()))
+                .append('\n');
+        appendSample(sb, prefix + "_call_duration_seconds_count", getCallCount());
+        sb.append("# TYPE ").append(prefix).append("_conflicts_total counter\n");
+        appendSample(sb, prefix + "_conflicts_total", getConflicts());
+        sb.append("# TYPE ").append(prefix).append("_decisions_total counter\n");
+        appendSample(sb, prefix + "_decisions_total", getDecisions());
+        sb.append("# TYPE ").append(prefix).append("_propagations_total counter\n");
+        appendSample(sb, prefix + "_propagations_total", getPropagations());
+        return sb.toString();
+    }
+
+    private static void appendSample(StringBuilder sb, String name, long value) {
+        sb.append(name).append(' ').append(value).append('\n');
+    }
+
+    private static String toSeconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+
+    @Override
+    public String toString() {
+        return toJSON();
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import de.featjar.base.FeatJAR;
+import java.util.concurrent.atomic.LongAdder;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Tracing of solver calls.
+ * Debug messages of the solvers are disabled by default. Call sites test the cached flag {@link #DEBUG} before building
+ * a message, so disabled messages cost a single branch on a constant.
+ * If the system property {@code featjar.sat4j.debug} is set to {@code true} (e.g., with
+ * {@code -Dfeatjar.sat4j.debug=true}), the messages are passed to the log at debug level.
+ * If the system property {@code featjar.sat4j.trace} is set to {@code true}, they are logged at info level instead,
+ * such that solver traces can be shown without enabling all debug messages.
+ * Solvers do not log individual calls. Instead, each solver call and initialization is emitted as a JFR event, which
+ * can be recorded with {@code -XX:StartFlightRecording}.
+ *
+ * @author Sebastian Krieter
+ */
+public final class SolverTrace {
+
+    /**
+     * Whether debug messages of solvers are logged at info level, as set by the system property
+     * {@code featjar.sat4j.trace}.
+     */
+    public static final boolean LOG_AT_INFO_LEVEL = Boolean.getBoolean("featjar.sat4j.trace");
+
+    /**
+     * Whether debug messages of solvers are logged, as set by the system properties {@code featjar.sat4j.debug} and
+     * {@code featjar.sat4j.trace}.
+     * Must be tested before calling {@link #debug(String)} or {@link #debug(String, Object)}.
+     */
+    public static final boolean DEBUG = LOG_AT_INFO_LEVEL || Boolean.getBoolean("featjar.sat4j.debug");
+
+    static final LongAdder MESSAGE_COUNT = new LongAdder();
+
+    /**
+     * JFR event for a single call to Sat4J.
+     */
+    @Name("de.featjar.sat4j.SolverCall")
+    @Label("SAT4J Solver Call")
+    @Category({"FeatJAR", "SAT4J"})
+    @Description("A single satisfiability check of a Sat4J solver")
+    public static class SolverCallEvent extends Event {
+        @Label("Result")
+        @Description("SAT, UNSAT, or TIMEOUT")
+        String result;
+
+        @Label("Assumptions")
+        int assumptionCount;
+
+        @Label("Conflicts")
+        long conflicts;
+
+        @Label("Decisions")
+        long decisions;
+
+        @Label("Propagations")
+        long propagations;
+    }
+
+    /**
+     * JFR event for the initialization of a solver.
+     */
+    @Name("de.featjar.sat4j.SolverInitialization")
+    @Label("SAT4J Solver Initialization")
+    @Category({"FeatJAR", "SAT4J"})
+    @Description("Initialization of a Sat4J solver with clauses and assumptions")
+    public static class SolverInitializationEvent extends Event {
+        @Label("Variables")
+        int variableCount;
+
+        @Label("Clauses")
+        int clauseCount;
+
+        @Label("Assumed Literals")
+        int assumedLiteralCount;
+
+        @Label("Assumed Clauses")
+        int assumedClauseCount;
+    }
+
+    private SolverTrace() {}
+
+    /**
+     * Logs a debug message, at info level if {@link #LOG_AT_INFO_LEVEL} is set.
+     * Should only be called if {@link #DEBUG} is set.
+     *
+     * @param message the message
+     */
+    public static void debug(String message) {
+        MESSAGE_COUNT.increment();
+        if (LOG_AT_INFO_LEVEL) {
+            FeatJAR.log().info(message);
+        } else {
+            FeatJAR.log().debug(message);
+        }
+    }
+
+    /**
+     * Logs a debug message, at info level if {@link #LOG_AT_INFO_LEVEL} is set.
+     * Should only be called if {@link #DEBUG} is set.
+     *
+     * @param format the format string
+     * @param argument the argument
+     */
+    public static void debug(String format, Object argument) {
+        MESSAGE_COUNT.increment();
+        if (LOG_AT_INFO_LEVEL) {
+            FeatJAR.log().info(format, argument);
+        } else {
+            FeatJAR.log().debug(format, argument);
+        }
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Bounded store for witness solutions, shared by analyses that filter
+ * candidate literals based on previously found solutions.
+ * Solutions are stored column-wise in a {@code long} matrix, such that each
+ * literal has its own bitmap containing one bit per stored solution. Thus,
+ * comparing two literals over all stored solutions only requires a few word
+ * operations. If the capacity is exceeded, the oldest solution is overwritten.
+ * <br>
+ * Sets of literals are represented as packed {@code long} arrays (see
+ * {@link #newLiteralSet()}) with one bit per literal, using the vertex indices
+ * of {@link ModalImplicationGraph#getVertexIndex(int)}.
+ *
+ * @author Sebastian Krieter
+ */
+public class WitnessStore {
+
+    private final int variableCount;
+    private final int capacity;
+    private final int rowWordCount;
+    private final long[] columns;
+
+    private int size;
+    private int next;
+
+    public static int getLiteralWordCount(int variableCount) {
+        return ((2 * variableCount) + 63) >>> 6;
+    }
+
+    public static boolean contains(long[] literals, int literal) {
+        final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+        return (literals[vertexIndex >>> 6] & (1L << vertexIndex)) != 0;
+    }
+
+    public static void add(long[] literals, int literal) {
+        final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+        literals[vertexIndex >>> 6] |= 1L << vertexIndex;
+    }
+
+    public static void remove(long[] literals, int literal) {
+        final int vertexIndex = ModalImplicationGraph.getVertexIndex(literal);
+        literals[vertexIndex >>> 6] &= ~(1L << vertexIndex);
+    }
+
+    public WitnessStore(int variableCount, int capacity) {
+        if (capacity < 1) throw new IllegalArgumentException(String.valueOf(capacity));
+        this.variableCount = variableCount;
+        this.capacity = capacity;
+        rowWordCount = (capacity + 63) >>> 6;
+        columns = new long[2 * variableCount * rowWordCount];
+    }
+
+    public WitnessStore(WitnessStore other) {
+        variableCount = other.variableCount;
+        capacity = other.capacity;
+        rowWordCount = other.rowWordCount;
+        columns = other.columns.clone();
+        size = other.size;
+        next = other.next;
+    }
+
+    /**
+     * Adds a solution to this store.
+     *
+     * @param solution the solution, containing one literal per variable in ascending order of their indices
+     * @return the index of the row that contains the solution
+     */
+    public int add(int[] solution) {
+        final int row = next;
+        final int wordOffset = row >>> 6;
+        final long mask = 1L << row;
+        if (size == capacity) {
+            for (int i = wordOffset; i < columns.length; i += rowWordCount) {
+                columns[i] &= ~mask;
+            }
+        } else {
+            size++;
+        }
+        for (int i = 0; i < variableCount; i++) {
+            columns[ModalImplicationGraph.getVertexIndex(solution[i]) * rowWordCount + wordOffset] |= mask;
+        }
+        next = (next + 1) % capacity;
+        return row;
+    }
+
+    /**
+     * Checks whether the given literal is contained in the solution of the given row.
+     *
+     * @param row the index of the row
+     * @param literal the literal
+     * @return {@code true} if the literal is contained, {@code false} otherwise
+     */
+    public boolean contains(int row, int literal) {
+        return (columns[ModalImplicationGraph.getVertexIndex(literal) * rowWordCount + (row >>> 6)] & (1L << row))
+                != 0;
+    }
+
+    /**
+     * Checks whether each stored solution that contains the first literal also contains the second literal.
+     *
+     * @param literal the first literal
+     * @param impliedLiteral the second literal
+     * @return {@code true} if the second literal is implied in all stored solutions, {@code false} otherwise
+     */
+    public boolean isImplied(int literal, int impliedLiteral) {
+        final int start = ModalImplicationGraph.getVertexIndex(literal) * rowWordCount;
+        final int impliedStart = ModalImplicationGraph.getVertexIndex(impliedLiteral) * rowWordCount;
+        for (int i = 0; i < rowWordCount; i++) {
+            if ((columns[start + i] & ~columns[impliedStart + i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether each stored solution either contains both literals or none of them.
+     *
+     * @param literal the first literal
+     * @param otherLiteral the second literal
+     * @return {@code true} if both literals are equivalent in all stored solutions, {@code false} otherwise
+     */
+    public boolean isEquivalent(int literal, int otherLiteral) {
+        final int start = ModalImplicationGraph.getVertexIndex(literal) * rowWordCount;
+        final int otherStart = ModalImplicationGraph.getVertexIndex(otherLiteral) * rowWordCount;
+        for (int i = 0; i < rowWordCount; i++) {
+            if (columns[start + i] != columns[otherStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes all literals from the given set that are not contained in each stored solution.
+     *
+     * @param literals the packed literal set, is modified
+     */
+    public void filterCommon(long[] literals) {
+        final long[] all = new long[rowWordCount];
+        for (int row = 0; row < size; row++) {
+            all[row >>> 6] |= 1L << row;
+        }
+        filter(literals, start -> {
+            for (int i = 0; i < rowWordCount; i++) {
+                if (columns[start + i] != all[i]) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes all literals from the given set that are not contained in the solution of the given row.
+     *
+     * @param row the index of the row
+     * @param literals the packed literal set, is modified
+     */
+    public void filterRow(int row, long[] literals) {
+        final int wordOffset = row >>> 6;
+        final long mask = 1L << row;
+        filter(literals, start -> (columns[start + wordOffset] & mask) != 0);
+    }
+
+    /**
+     * Removes all literals from the given set that are not implied by the given literal in all stored solutions.
+     *
+     * @param literal the implying literal
+     * @param literals the packed literal set, is modified
+     * @see #isImplied(int, int)
+     */
+    public void filterImplied(int literal, long[] literals) {
+        final int literalStart = ModalImplicationGraph.getVertexIndex(literal) * rowWordCount;
+        filter(literals, start -> {
+            for (int i = 0; i < rowWordCount; i++) {
+                if ((columns[literalStart + i] & ~columns[start + i]) != 0) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes all literals from the given set that are not equivalent to the given literal in all stored solutions.
+     *
+     * @param literal the literal
+     * @param literals the packed literal set, is modified
+     * @see #isEquivalent(int, int)
+     */
+    public void filterEquivalent(int literal, long[] literals) {
+        final int literalStart = ModalImplicationGraph.getVertexIndex(literal) * rowWordCount;
+        filter(literals, start -> {
+            for (int i = 0; i < rowWordCount; i++) {
+                if (columns[literalStart + i] != columns[start + i]) {
+                    return false;
+                }
+            }
+            return true;
+        });
+    }
+
+    /**
+     * Removes all literals from the given set that are not equivalent to the given literal in the solution of the given row.
+     *
+     * @param row the index of the row
+     * @param literal the literal
+     * @param literals the packed literal set, is modified
+     */
+    public void filterEquivalent(int row, int literal, long[] literals) {
+        final int wordOffset = row >>> 6;
+        final long mask = 1L << row;
+        final boolean contained = contains(row, literal);
+        filter(literals, start -> ((columns[start + wordOffset] & mask) != 0) == contained);
+    }
+
+    private void filter(long[] literals, IntPredicate keep) {
+        for (int wordIndex = 0; wordIndex < literals.length; wordIndex++) {
+            long word = literals[wordIndex];
+            while (word != 0) {
+                final int bit = Long.numberOfTrailingZeros(word);
+                word &= word - 1;
+                if (!keep.test(((wordIndex << 6) + bit) * rowWordCount)) {
+                    literals[wordIndex] &= ~(1L << bit);
+                }
+            }
+        }
+    }
+
+    public long[] newLiteralSet() {
+        return new long[getLiteralWordCount(variableCount)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return capacity;
+    }
+
+    public int getVariableCount() {
+        return variableCount;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.solver.strategy;
+
+import java.io.Serializable;
+
+/**
+ * Binary max-heap of variables ordered by activity, stored in primitive arrays.
+ * Behaves like the heap of SAT4J, but can be cleared and refilled without reallocation.
+ *
+ * @author Sebastian Krieter
+ */
+final class ActivityHeap implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private double[] activity;
+
+    /**
+     * Variables in heap order, starting at index one.
+     */
+    private int[] heap = new int[1];
+
+    /**
+     * For each variable, its position in {@link #heap}, or zero if it is not contained.
+     */
+    private int[] indices = new int[0];
+
+    private int size;
+
+    /**
+     * Removes all variables and adjusts the capacity to the given number of variables.
+     * Existing arrays are reused if they are large enough.
+     *
+     * @param activity the activities of all variables
+     * @param variableCount the number of variables
+     */
+    void reset(double[] activity, int variableCount) {
+        this.activity = activity;
+        if (indices.length <= variableCount) {
+            heap = new int[variableCount + 1];
+            indices = new int[variableCount + 1];
+        } else {
+            for (int i = 1; i <= size; i++) {
+                indices[heap[i]] = 0;
+            }
+        }
+        size = 0;
+    }
+
+    /**
+     * Appends a variable without restoring the heap property.
+     * Must only be used if the variable's activity is not greater than the activity of its parent, e.g., if all
+     * activities are equal.
+     *
+     * @param var the variable
+     */
+    void append(int var) {
+        heap[++size] = var;
+        indices[var] = size;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int var) {
+        return indices[var] != 0;
+    }
+
+    void insert(int var) {
+        heap[++size] = var;
+        indices[var] = size;
+        percolateUp(size);
+    }
+
+    /**
+     * Restores the heap property after the activity of the given variable increased.
+     *
+     * @param var the variable
+     */
+    void increase(int var) {
+        percolateUp(indices[var]);
+    }
+
+    /**
+     * Removes the variable with the highest activity.
+     *
+     * @return the removed variable
+     */
+    int removeMax() {
+        final int max = heap[1];
+        final int last = heap[size--];
+        indices[max] = 0;
+        if (size > 0) {
+            heap[1] = last;
+            indices[last] = 1;
+            if (size > 1) {
+                percolateDown(1);
+            }
+        }
+        return max;
+    }
+
+    private void percolateUp(int i) {
+        final int var = heap[i];
+        int parent = i >>> 1;
+        while (i != 1 && activity[var] > activity[heap[parent]]) {
+            heap[i] = heap[parent];
+            indices[heap[i]] = i;
+            i = parent;
+            parent = i >>> 1;
+        }
+        heap[i] = var;
+        indices[var] = i;
+    }
+
+    private void percolateDown(int i) {
+        final int var = heap[i];
+        while (i << 1 <= size) {
+            final int left = i << 1;
+            final int right = left + 1;
+            final int child = right <= size && activity[heap[right]] > activity[heap[left]] ? right : left;
+            if (!(activity[heap[child]] > activity[var])) {
+                break;
+            }
+            heap[i] = heap[child];
+            indices[heap[i]] = i;
+            i = child;
+        }
+        heap[i] = var;
+        indices[var] = i;
+    }
+}
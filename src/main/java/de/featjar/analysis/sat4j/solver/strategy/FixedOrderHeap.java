@@ -20,6 +20,9 @@
  */
 package de.featjar.analysis.sat4j.solver.strategy;
 
+import static org.sat4j.core.LiteralsUtils.var;
+
+import org.sat4j.minisat.core.ILits;
 import org.sat4j.minisat.core.IPhaseSelectionStrategy;
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.specs.ISolver;
@@ -27,6 +30,11 @@ import org.sat4j.specs.ISolver;
 /**
  * Modified variable order for {@link ISolver}.<br>
  * Initializes the used heap in a certain order.
+ * Instead of the heap of SAT4J, a primitive {@link ActivityHeap} is used, which is refilled in place from the order
+ * array on each initialization. Thus, changing the order (e.g., by shuffling the array) or the phase selection
+ * strategy does not require a new instance.
+ * The heap of {@link VarOrderHeap} is never created, so all methods of the super class that access it are
+ * overridden.
  *
  * @author Sebastian Krieter
  */
@@ -34,6 +42,7 @@ public class FixedOrderHeap extends VarOrderHeap {
 
     private static final long serialVersionUID = 1L;
     private int[] order;
+    private final ActivityHeap activityHeap = new ActivityHeap();
 
     public FixedOrderHeap(IPhaseSelectionStrategy strategy, int[] order) {
         super(strategy);
@@ -48,17 +57,64 @@ public class FixedOrderHeap extends VarOrderHeap {
         }
         phaseStrategy.init(nlength);
         activity[0] = -1;
-        heap = createHeap(activity);
-        heap.setBounds(nlength);
+        activityHeap.reset(activity, nlength - 1);
+        // all activities are equal, so appending in order keeps the heap property
         for (int i = 1; i < nlength; i++) {
             assert i > 0;
             assert i <= this.lits.nVars() : "" + this.lits.nVars() + "/" + i;
             final int x = order[i - 1];
             activity[x] = 0.0;
             if (lits.belongsToPool(x)) {
-                heap.insert(x);
+                activityHeap.append(x);
+            }
+        }
+    }
+
+    @Override
+    public int select() {
+        while (!activityHeap.isEmpty()) {
+            final int var = activityHeap.removeMax();
+            final int next = phaseStrategy.select(var);
+            if (lits.isUnassigned(next)) {
+                if (activity[var] < 0.0001) {
+                    nullchoice++;
+                }
+                return next;
             }
         }
+        return ILits.UNDEFINED;
+    }
+
+    @Override
+    public void undo(int x) {
+        if (!activityHeap.contains(x)) {
+            activityHeap.insert(x);
+        }
+    }
+
+    @Override
+    public void updateVar(int p) {
+        final int var = var(p);
+        updateActivity(var);
+        phaseStrategy.updateVar(p);
+        if (activityHeap.contains(var)) {
+            activityHeap.increase(var);
+        }
+    }
+
+    @Override
+    public void updateVarAtDecisionLevel(int q) {
+        final int var = var(q);
+        updateActivity(var);
+        phaseStrategy.updateVarAtDecisionLevel(q);
+        if (activityHeap.contains(var)) {
+            activityHeap.increase(var);
+        }
+    }
+
+    @Override
+    public int size() {
+        return activityHeap.size();
     }
 
     public int[] getOrder() {
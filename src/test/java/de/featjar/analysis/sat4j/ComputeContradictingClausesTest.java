@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeContradictingClauses;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeContradictingClausesTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static List<String> computeContradictingClauses(BooleanAssignmentList clauseList, boolean selectors) {
+        List<String> result = new ArrayList<>();
+        for (BooleanAssignment clause : Computations.of(clauseList)
+                .map(ComputeContradictingClauses::new)
+                .set(ComputeContradictingClauses.SELECTOR_VARIABLES, selectors)
+                .compute()) {
+            result.add(Arrays.toString(clause.get()));
+        }
+        return result;
+    }
+
+    @Test
+    public void gplSelectorModeFindsSameContradictions() {
+        BooleanAssignmentList gplClauses = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        int variableCount = gplClauses.getVariableMap().size();
+
+        Random random = new Random(1);
+        for (int round = 0; round < 5; round++) {
+            // append random unit and binary clauses, which eventually contradict the formula
+            List<BooleanAssignment> clauses = new ArrayList<>(gplClauses.getAll());
+            for (int i = 0; i < 40; i++) {
+                int literal = (random.nextInt(variableCount) + 1) * (random.nextBoolean() ? 1 : -1);
+                if (random.nextBoolean()) {
+                    clauses.add(new BooleanAssignment(literal));
+                } else {
+                    int otherLiteral = (random.nextInt(variableCount) + 1) * (random.nextBoolean() ? 1 : -1);
+                    clauses.add(new BooleanAssignment(literal, otherLiteral));
+                }
+            }
+            BooleanAssignmentList clauseList = new BooleanAssignmentList(gplClauses.getVariableMap(), clauses);
+
+            List<String> expected = computeContradictingClauses(clauseList, false);
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, computeContradictingClauses(clauseList, true));
+
+            // the remaining clauses are satisfiable
+            List<String> contradicting = new ArrayList<>(expected);
+            List<BooleanAssignment> remainingClauses = new ArrayList<>();
+            for (BooleanAssignment clause : clauses) {
+                if (!contradicting.remove(Arrays.toString(clause.get()))) {
+                    remainingClauses.add(clause);
+                }
+            }
+            assertTrue(new SAT4JSolutionSolver(
+                            new BooleanAssignmentList(gplClauses.getVariableMap(), remainingClauses))
+                    .hasSolution()
+                    .get());
+        }
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeImplicationGraphSAT4J;
+import de.featjar.analysis.sat4j.computation.MIGBuilder;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.ImplicationGraph;
+import de.featjar.analysis.sat4j.solver.ModalImplicationGraph;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.WitnessStore;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeImplicationGraphTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private BooleanAssignmentList loadGPL() {
+        return Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+    }
+
+    /**
+     * Computes all implications between literals of non-core variables with one solver call per pair.
+     */
+    private static Set<Integer>[] computeImplicationsBruteForce(BooleanAssignmentList clauseList) {
+        int variableCount = clauseList.getVariableMap().size();
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList);
+        boolean[] core = new boolean[variableCount + 1];
+        for (int v = 1; v <= variableCount; v++) {
+            core[v] = !solver.hasSolution(v).get() || !solver.hasSolution(-v).get();
+        }
+        @SuppressWarnings("unchecked")
+        Set<Integer>[] implications = new Set[2 * variableCount];
+        for (int i = 0; i < 2 * variableCount; i++) {
+            int literal = ModalImplicationGraph.getLiteral(i);
+            implications[i] = new HashSet<>();
+            if (core[Math.abs(literal)]) {
+                continue;
+            }
+            for (int j = 0; j < 2 * variableCount; j++) {
+                int candidate = ModalImplicationGraph.getLiteral(j);
+                if (Math.abs(candidate) != Math.abs(literal)
+                        && !core[Math.abs(candidate)]
+                        && !solver.hasSolution(literal, -candidate).get()) {
+                    implications[i].add(candidate);
+                }
+            }
+        }
+        return implications;
+    }
+
+    private static Set<Integer> toSet(int[] literals) {
+        return Arrays.stream(literals).boxed().collect(Collectors.toSet());
+    }
+
+    @Test
+    public void gplImplicationsMatchBruteForce() {
+        BooleanAssignmentList clauseList = loadGPL();
+        Set<Integer>[] expected = computeImplicationsBruteForce(clauseList);
+        for (int threadCount : new int[] {1, 4}) {
+            ImplicationGraph graph = Computations.of(clauseList)
+                    .map(ComputeImplicationGraphSAT4J::new)
+                    .set(ComputeImplicationGraphSAT4J.THREAD_COUNT, threadCount)
+                    .set(ComputeImplicationGraphSAT4J.WITNESS_LIMIT, 16)
+                    .compute();
+            for (int i = 0; i < expected.length; i++) {
+                int literal = ModalImplicationGraph.getLiteral(i);
+                int[] implications = graph.getImplications(literal);
+                assertEquals(implications.length, toSet(implications).size());
+                assertEquals(expected[i], toSet(implications), String.valueOf(literal));
+            }
+        }
+    }
+
+    /**
+     * Computes all literals reachable from the given literal, optionally ignoring a single edge.
+     */
+    private static Set<Integer> computeReachable(ImplicationGraph graph, int literal, int ignoredFrom, int ignoredTo) {
+        Set<Integer> reachable = new HashSet<>();
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        queue.add(literal);
+        while (!queue.isEmpty()) {
+            int current = queue.poll();
+            for (int next : graph.getImplications(current)) {
+                if ((current != ignoredFrom || next != ignoredTo) && reachable.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        reachable.remove(literal);
+        return reachable;
+    }
+
+    private static void assertTransitiveReduction(ImplicationGraph graph) {
+        ImplicationGraph reducedGraph = graph.reduce();
+        assertEquals(graph.size(), reducedGraph.size());
+        assertTrue(reducedGraph.getEdgeCount() <= graph.getEdgeCount());
+        for (int i = 0; i < 2 * graph.size(); i++) {
+            int literal = ModalImplicationGraph.getLiteral(i);
+            assertEquals(
+                    computeReachable(graph, literal, 0, 0),
+                    computeReachable(reducedGraph, literal, 0, 0),
+                    String.valueOf(literal));
+            for (int implied : reducedGraph.getImplications(literal)) {
+                assertFalse(
+                        computeReachable(reducedGraph, literal, literal, implied)
+                                .contains(implied),
+                        literal + " -> " + implied);
+            }
+        }
+    }
+
+    @Test
+    public void gplReducedGraphHasSameClosureAndNoRedundantEdges() {
+        BooleanAssignmentList clauseList = loadGPL();
+        ImplicationGraph graph = Computations.of(clauseList)
+                .map(ComputeImplicationGraphSAT4J::new)
+                .compute();
+        assertTransitiveReduction(graph);
+
+        ImplicationGraph reducedGraph = Computations.of(clauseList)
+                .map(ComputeImplicationGraphSAT4J::new)
+                .set(ComputeImplicationGraphSAT4J.TRANSITIVE_REDUCTION, Boolean.TRUE)
+                .compute();
+        assertEquals(graph.reduce().getEdgeCount(), reducedGraph.getEdgeCount());
+    }
+
+    @Test
+    public void reducedGraphCondensesEquivalentLiterals() {
+        // 1 <-> 2 -> 3 -> 4, 1 -> 3, 1 -> 4, 2 -> 4, -4 -> -3
+        int[][] implications = new int[8][];
+        implications[ModalImplicationGraph.getVertexIndex(1)] = new int[] {2, 3, 4};
+        implications[ModalImplicationGraph.getVertexIndex(2)] = new int[] {1, 3, 4};
+        implications[ModalImplicationGraph.getVertexIndex(3)] = new int[] {4};
+        implications[ModalImplicationGraph.getVertexIndex(-4)] = new int[] {-3};
+        ImplicationGraph graph = ImplicationGraph.of(4, implications);
+        assertTransitiveReduction(graph);
+        assertEquals(5, graph.reduce().getEdgeCount());
+    }
+
+    @Test
+    public void gplStrongEdgesContainImplications() {
+        BooleanAssignmentList clauseList = loadGPL();
+        ImplicationGraph graph = Computations.of(clauseList)
+                .map(ComputeImplicationGraphSAT4J::new)
+                .compute();
+        ModalImplicationGraph mig = new MIGBuilder(Computations.of(clauseList)).compute();
+        Set<Integer> core = toSet(mig.getCore());
+        List<Set<Integer>> oldEdges = new ArrayList<>();
+        for (int[] edges : mig.getStrongEdges()) {
+            oldEdges.add(toSet(edges));
+        }
+
+        mig.addStrongEdges(graph);
+
+        int[][] strongEdges = mig.getStrongEdges();
+        for (int i = 0; i < strongEdges.length; i++) {
+            Set<Integer> edges = toSet(strongEdges[i]);
+            assertEquals(strongEdges[i].length, edges.size());
+            assertTrue(edges.containsAll(oldEdges.get(i)));
+            for (int literal : graph.getImplications(ModalImplicationGraph.getLiteral(i))) {
+                assertFalse(core.contains(literal) || core.contains(-literal));
+                assertTrue(edges.contains(literal));
+            }
+            for (int literal : edges) {
+                assertTrue(
+                        oldEdges.get(i).contains(literal)
+                                || toSet(graph.getImplications(ModalImplicationGraph.getLiteral(i)))
+                                        .contains(literal));
+            }
+        }
+    }
+
+    @Test
+    public void gplWitnessStoreMatchesStoredSolutions() {
+        BooleanAssignmentList clauseList = loadGPL();
+        int variableCount = clauseList.getVariableMap().size();
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList);
+        Random random = new Random(1);
+        solver.setSelectionStrategy(ISelectionStrategy.random(random));
+
+        int capacity = 5;
+        WitnessStore witnesses = new WitnessStore(variableCount, capacity);
+        List<int[]> solutions = new ArrayList<>();
+        for (int i = 0; i < 2 * capacity + 3; i++) {
+            assertTrue(solver.hasSolution().get());
+            int[] solution = Arrays.copyOf(solver.getInternalSolution(), variableCount);
+            int row = witnesses.add(solution);
+            for (int literal : solution) {
+                assertTrue(witnesses.contains(row, literal));
+                assertFalse(witnesses.contains(row, -literal));
+            }
+            solutions.add(solution);
+            solver.shuffleOrder(random);
+        }
+        // only the latest solutions are kept
+        List<Set<Integer>> stored = solutions.subList(solutions.size() - capacity, solutions.size()).stream()
+                .map(ComputeImplicationGraphTest::toSet)
+                .collect(Collectors.toList());
+        assertEquals(capacity, witnesses.size());
+
+        long[] common = witnesses.newLiteralSet();
+        for (int v = 1; v <= variableCount; v++) {
+            WitnessStore.add(common, v);
+            WitnessStore.add(common, -v);
+        }
+        witnesses.filterCommon(common);
+        for (int i = 0; i < 2 * variableCount; i++) {
+            int literal = ModalImplicationGraph.getLiteral(i);
+            assertEquals(stored.stream().allMatch(s -> s.contains(literal)), WitnessStore.contains(common, literal));
+
+            long[] implied = witnesses.newLiteralSet();
+            for (int v = 1; v <= variableCount; v++) {
+                WitnessStore.add(implied, v);
+                WitnessStore.add(implied, -v);
+            }
+            witnesses.filterImplied(literal, implied);
+            for (int j = 0; j < 2 * variableCount; j++) {
+                int other = ModalImplicationGraph.getLiteral(j);
+                boolean expected = stored.stream().allMatch(s -> !s.contains(literal) || s.contains(other));
+                assertEquals(expected, witnesses.isImplied(literal, other));
+                assertEquals(expected, WitnessStore.contains(implied, other));
+                assertEquals(
+                        stored.stream().allMatch(s -> s.contains(literal) == s.contains(other)),
+                        witnesses.isEquivalent(literal, other));
+            }
+        }
+    }
+}
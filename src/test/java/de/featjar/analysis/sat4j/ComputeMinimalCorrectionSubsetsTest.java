@@ -0,0 +1,144 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ASAT4JAnalysis;
+import de.featjar.analysis.sat4j.computation.ComputeMinimalCorrectionSubsetsSAT4J;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeMinimalCorrectionSubsetsTest extends Common {
+
+    private static final int[] ASSUMED_LITERALS = {1, 2, 3, 4, 5, 6};
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static BooleanAssignmentList createClauseList() {
+        VariableMap variableMap = new VariableMap(List.of("a", "b", "c", "d", "e", "f"));
+        return new BooleanAssignmentList(
+                variableMap,
+                List.of(
+                        new BooleanAssignment(-1, -2),
+                        new BooleanAssignment(-2, -3),
+                        new BooleanAssignment(-3, -4, -5),
+                        new BooleanAssignment(-5, -6),
+                        new BooleanAssignment(-1, -6)));
+    }
+
+    private static boolean isConsistent(SAT4JSolutionSolver solver, int mask, int additionalLiteral) {
+        List<Integer> literals = new ArrayList<>();
+        for (int i = 0; i < ASSUMED_LITERALS.length; i++) {
+            if ((mask & (1 << i)) == 0) {
+                literals.add(ASSUMED_LITERALS[i]);
+            }
+        }
+        if (additionalLiteral != 0) {
+            literals.add(additionalLiteral);
+        }
+        return solver.hasSolution(literals.stream().mapToInt(Integer::intValue).toArray())
+                .get();
+    }
+
+    private static Set<Set<Integer>> computeMinimalCorrectionSubsets(
+            BooleanAssignmentList clauseList, int threadCount, int limit) {
+        BooleanAssignmentList correctionSubsets = Computations.of(clauseList)
+                .map(ComputeMinimalCorrectionSubsetsSAT4J::new)
+                .set(ASAT4JAnalysis.ASSUMED_ASSIGNMENT, new BooleanAssignment(ASSUMED_LITERALS))
+                .set(ComputeMinimalCorrectionSubsetsSAT4J.THREAD_COUNT, threadCount)
+                .set(ComputeMinimalCorrectionSubsetsSAT4J.LIMIT, limit)
+                .compute();
+        Set<Set<Integer>> result = new HashSet<>();
+        for (BooleanAssignment correctionSubset : correctionSubsets) {
+            Set<Integer> subset = new HashSet<>();
+            Arrays.stream(correctionSubset.get()).forEach(subset::add);
+            assertTrue(result.add(subset), subset.toString());
+        }
+        assertEquals(correctionSubsets.size(), result.size());
+        return result;
+    }
+
+    @Test
+    public void correctionSubsetsAreMinimalAndComplete() {
+        BooleanAssignmentList clauseList = createClauseList();
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList);
+
+        // brute force over all subsets of the assumed literals
+        Set<Set<Integer>> expected = new HashSet<>();
+        for (int mask = 0; mask < (1 << ASSUMED_LITERALS.length); mask++) {
+            if (!isConsistent(solver, mask, 0)) {
+                continue;
+            }
+            boolean minimal = true;
+            Set<Integer> subset = new HashSet<>();
+            for (int i = 0; i < ASSUMED_LITERALS.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    subset.add(ASSUMED_LITERALS[i]);
+                    minimal &= !isConsistent(solver, mask, ASSUMED_LITERALS[i]);
+                }
+            }
+            if (minimal) {
+                expected.add(subset);
+            }
+        }
+        assertTrue(expected.size() > 1);
+
+        Set<Set<Integer>> sequential = computeMinimalCorrectionSubsets(clauseList, 1, 0);
+        assertEquals(expected, sequential);
+        assertEquals(sequential, computeMinimalCorrectionSubsets(clauseList, 4, 0));
+
+        Set<Set<Integer>> limited = computeMinimalCorrectionSubsets(clauseList, 4, 2);
+        assertEquals(2, limited.size());
+        assertTrue(expected.containsAll(limited));
+    }
+
+    @Test
+    public void consistentAssumptionsHaveNoCorrectionSubset() {
+        BooleanAssignmentList correctionSubsets = Computations.of(createClauseList())
+                .map(ComputeMinimalCorrectionSubsetsSAT4J::new)
+                .set(ASAT4JAnalysis.ASSUMED_ASSIGNMENT, new BooleanAssignment(1, 3, 5))
+                .compute();
+        assertEquals(0, correctionSubsets.size());
+    }
+}
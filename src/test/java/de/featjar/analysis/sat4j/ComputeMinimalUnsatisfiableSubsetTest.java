@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ASAT4JAnalysis;
+import de.featjar.analysis.sat4j.computation.ComputeCoreSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeMinimalUnsatisfiableSubsetSAT4J;
+import de.featjar.analysis.sat4j.solver.SAT4JExplanationSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.base.data.Result;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeMinimalUnsatisfiableSubsetTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplSubsetIsMinimalUnsatisfiable() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BooleanAssignmentList clauses = clauseList.compute();
+        int[] core = clauseList.map(ComputeCoreSAT4J::new).compute().get();
+        assertTrue(core.length > 0);
+        int deadLiteral = -core[0];
+
+        BooleanAssignmentList subset = clauseList
+                .map(ComputeMinimalUnsatisfiableSubsetSAT4J::new)
+                .set(ASAT4JAnalysis.ASSUMED_ASSIGNMENT, new BooleanAssignment(deadLiteral))
+                .compute();
+        List<BooleanAssignment> subsetClauses = subset.getAll();
+        assertFalse(subsetClauses.isEmpty());
+        assertEquals(
+                Boolean.FALSE,
+                new SAT4JSolutionSolver(subset).hasSolution(deadLiteral).get());
+
+        for (int i = 0; i < subsetClauses.size(); i++) {
+            List<BooleanAssignment> reducedClauses = new ArrayList<>(subsetClauses);
+            reducedClauses.remove(i);
+            assertEquals(
+                    Boolean.TRUE,
+                    new SAT4JSolutionSolver(new BooleanAssignmentList(clauses.getVariableMap(), reducedClauses))
+                            .hasSolution(deadLiteral)
+                            .get());
+        }
+    }
+
+    @Test
+    public void marcoFindsAllMinimalUnsatisfiableSubsets() {
+        VariableMap variableMap = new VariableMap(List.of("a", "b", "c"));
+        // a is implied by 0,1 and 6,7, -a is implied by 2,3 and 4,5
+        List<BooleanAssignment> clauses = List.of(
+                new BooleanAssignment(1, 2),
+                new BooleanAssignment(1, -2),
+                new BooleanAssignment(-1, 3),
+                new BooleanAssignment(-1, -3),
+                new BooleanAssignment(-1, 2),
+                new BooleanAssignment(-1, -2),
+                new BooleanAssignment(1, 3),
+                new BooleanAssignment(1, -3));
+
+        // brute force over all subsets
+        Set<Set<String>> expected = new HashSet<>();
+        for (int mask = 1; mask < (1 << clauses.size()); mask++) {
+            if (isSatisfiable(variableMap, clauses, mask)) {
+                continue;
+            }
+            boolean minimal = true;
+            for (int i = 0; i < clauses.size() && minimal; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    minimal = isSatisfiable(variableMap, clauses, mask & ~(1 << i));
+                }
+            }
+            if (minimal) {
+                Set<String> subset = new HashSet<>();
+                for (int i = 0; i < clauses.size(); i++) {
+                    if ((mask & (1 << i)) != 0) {
+                        subset.add(Arrays.toString(clauses.get(i).get()));
+                    }
+                }
+                expected.add(subset);
+            }
+        }
+        assertTrue(expected.size() >= 4);
+
+        BooleanAssignmentList clauseList = new BooleanAssignmentList(variableMap, clauses);
+        Set<Set<String>> subsets = new HashSet<>();
+        Result<Boolean> complete = new SAT4JExplanationSolver(clauseList)
+                .enumerateMinimalUnsatisfiableSubsets(
+                        0, Duration.ZERO, subset -> assertTrue(subsets.add(toSet(subset))));
+        assertEquals(Boolean.TRUE, complete.get());
+        assertEquals(expected, subsets);
+
+        List<List<BooleanAssignment>> limitedSubsets = new ArrayList<>();
+        complete = new SAT4JExplanationSolver(clauseList)
+                .enumerateMinimalUnsatisfiableSubsets(2, Duration.ZERO, limitedSubsets::add);
+        assertEquals(Boolean.FALSE, complete.get());
+        assertEquals(2, limitedSubsets.size());
+
+        // only a single subset is computed by default
+        List<List<BooleanAssignment>> allSubsets = new SAT4JExplanationSolver(clauseList)
+                .getAllMinimalUnsatisfiableSubsets()
+                .get();
+        assertEquals(1, allSubsets.size());
+        assertTrue(expected.contains(toSet(allSubsets.get(0))));
+    }
+
+    private static boolean isSatisfiable(VariableMap variableMap, List<BooleanAssignment> clauses, int mask) {
+        List<BooleanAssignment> subset = new ArrayList<>();
+        for (int i = 0; i < clauses.size(); i++) {
+            if ((mask & (1 << i)) != 0) {
+                subset.add(clauses.get(i));
+            }
+        }
+        return new SAT4JSolutionSolver(new BooleanAssignmentList(variableMap, subset))
+                .hasSolution()
+                .get();
+    }
+
+    private static Set<String> toSet(List<BooleanAssignment> subset) {
+        Set<String> set = new HashSet<>();
+        for (BooleanAssignment clause : subset) {
+            set.add(Arrays.toString(clause.get()));
+        }
+        return set;
+    }
+}
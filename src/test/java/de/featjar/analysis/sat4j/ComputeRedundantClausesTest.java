@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeRedundantClausesSat4J;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeRedundantClausesTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private static String computeRedundantClauses(
+            IComputation<BooleanAssignmentList> clauseList, boolean partitioned, boolean prefilter) {
+        return clauseList
+                .map(ComputeRedundantClausesSat4J::new)
+                .set(ComputeRedundantClausesSat4J.PARTITIONED, partitioned)
+                .set(ComputeRedundantClausesSat4J.THREAD_COUNT, 2)
+                .set(ComputeRedundantClausesSat4J.PREFILTER, prefilter)
+                .compute()
+                .getAll()
+                .toString();
+    }
+
+    @Test
+    public void gplPrefilterDoesNotChangeResult() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+
+        assertEquals(computeRedundantClauses(clauseList, false, false), computeRedundantClauses(clauseList, false, true));
+        assertEquals(computeRedundantClauses(clauseList, true, false), computeRedundantClauses(clauseList, true, true));
+    }
+
+    @Test
+    public void gplPartitionedResultIsImpliedByKeptClauses() {
+        BooleanAssignmentList clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+
+        for (int threadCount : new int[] {1, 4}) {
+            BooleanAssignmentList redundantClauses = Computations.of(clauseList)
+                    .map(ComputeRedundantClausesSat4J::new)
+                    .set(ComputeRedundantClausesSat4J.PARTITIONED, Boolean.TRUE)
+                    .set(ComputeRedundantClausesSat4J.THREAD_COUNT, threadCount)
+                    .compute();
+
+            List<String> remaining = new ArrayList<>();
+            for (BooleanAssignment clause : clauseList) {
+                remaining.add(Arrays.toString(clause.get()));
+            }
+            for (BooleanAssignment clause : redundantClauses) {
+                assertTrue(remaining.remove(Arrays.toString(clause.get())), clause.toString());
+            }
+            BooleanAssignmentList keptClauses = new BooleanAssignmentList(clauseList.getVariableMap());
+            for (BooleanAssignment clause : clauseList) {
+                if (remaining.remove(Arrays.toString(clause.get()))) {
+                    keptClauses.add(clause);
+                }
+            }
+            assertEquals(clauseList.size() - redundantClauses.size(), keptClauses.size());
+
+            SAT4JSolutionSolver solver = new SAT4JSolutionSolver(keptClauses);
+            for (BooleanAssignment clause : redundantClauses) {
+                int[] negation = Arrays.stream(clause.get()).map(l -> -l).toArray();
+                assertFalse(solver.hasSolution(negation).get(), clause.toString());
+            }
+        }
+    }
+}
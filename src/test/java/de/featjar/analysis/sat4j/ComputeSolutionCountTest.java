@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeApproximateSolutionCountSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionCountSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.SolutionCountEstimate;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.math.BigInteger;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeSolutionCountTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplCountEqualsNumberOfEnumeratedSolutions() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BooleanAssignmentList solutions =
+                clauseList.map(ComputeSolutionsSAT4J::new).compute();
+
+        assertEquals(
+                BigInteger.valueOf(solutions.size()),
+                clauseList.map(ComputeSolutionCountSAT4J::new).compute());
+        assertEquals(
+                BigInteger.valueOf(solutions.size()),
+                clauseList
+                        .map(ComputeSolutionCountSAT4J::new)
+                        .set(ComputeSolutionCountSAT4J.CACHE_SIZE, 0)
+                        .compute());
+
+        int[] projection = {1, 2, 3};
+        Set<String> projectedSolutions = new HashSet<>();
+        for (BooleanAssignment solution : solutions) {
+            StringBuilder projectedSolution = new StringBuilder();
+            for (int variable : projection) {
+                projectedSolution.append(solution.get()[variable - 1] > 0 ? '1' : '0');
+            }
+            projectedSolutions.add(projectedSolution.toString());
+        }
+        assertEquals(
+                BigInteger.valueOf(projectedSolutions.size()),
+                clauseList
+                        .map(ComputeSolutionCountSAT4J::new)
+                        .set(ComputeSolutionCountSAT4J.VARIABLES_OF_INTEREST, new BooleanAssignment(projection))
+                        .compute());
+    }
+
+    @Test
+    public void gplApproximateCountIsWithinTolerance() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        BigInteger count = clauseList.map(ComputeSolutionCountSAT4J::new).compute();
+
+        for (double epsilon : new double[] {0.8, 3.0}) {
+            SolutionCountEstimate estimate = clauseList
+                    .map(ComputeApproximateSolutionCountSAT4J::new)
+                    .set(ComputeApproximateSolutionCountSAT4J.EPSILON, epsilon)
+                    .set(ComputeApproximateSolutionCountSAT4J.DELTA, 0.05)
+                    .compute();
+            if (epsilon > 1) {
+                assertFalse(estimate.isExact());
+            }
+            assertTrue(estimate.getLowerBound().compareTo(count) <= 0, estimate.toString());
+            assertTrue(estimate.getUpperBound().compareTo(count) >= 0, estimate.toString());
+        }
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J.DuplicateElimination;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J.SolutionIterator;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy.Strategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.SAT4JSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeSolutionsTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplDuplicateEliminationStrategiesFindSameSolutions() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        Set<String> expected = computeSolutions(clauseList, DuplicateElimination.SOLUTION_BLOCKING_CLAUSE);
+        assertEquals(expected, computeSolutions(clauseList, DuplicateElimination.IMPLICANT_BLOCKING_CLAUSE));
+        assertEquals(expected, computeSolutions(clauseList, DuplicateElimination.CHRONOLOGICAL_BACKTRACKING));
+    }
+
+    @Test
+    public void gplParallelCubesFindSameSolutions() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        Set<String> expected = computeSolutions(clauseList, DuplicateElimination.SOLUTION_BLOCKING_CLAUSE);
+        BooleanAssignmentList solutions = clauseList
+                .map(ComputeSolutionsSAT4J::new)
+                .set(ComputeSolutionsSAT4J.THREAD_COUNT, 4)
+                .set(ComputeSolutionsSAT4J.CUBE_VARIABLE_COUNT, 3)
+                .compute();
+        Set<String> solutionSet = new HashSet<>();
+        for (BooleanAssignment solution : solutions) {
+            solutionSet.add(Arrays.toString(solution.get()));
+        }
+        assertEquals(solutions.size(), solutionSet.size());
+        assertEquals(expected, solutionSet);
+
+        assertEquals(
+                10,
+                clauseList
+                        .map(ComputeSolutionsSAT4J::new)
+                        .set(ComputeSolutionsSAT4J.THREAD_COUNT, 4)
+                        .set(ComputeSolutionsSAT4J.LIMIT, 10)
+                        .compute()
+                        .size());
+    }
+
+    @Test
+    public void gplSolutionIteratorIsLazyAndComplete() {
+        BooleanAssignmentList clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        BooleanAssignmentList solutions =
+                Computations.of(clauseList).map(ComputeSolutionsSAT4J::new).compute();
+
+        assertEquals(
+                5,
+                new SolutionIterator(
+                                new SAT4JSolutionSolver(clauseList),
+                                Strategy.ORIGINAL,
+                                DuplicateElimination.SOLUTION_BLOCKING_CLAUSE,
+                                1L)
+                        .stream()
+                        .limit(5)
+                        .count());
+        assertEquals(
+                solutions.size(),
+                new SolutionIterator(
+                                new SAT4JSolutionSolver(clauseList),
+                                Strategy.FAST_RANDOM,
+                                DuplicateElimination.CHRONOLOGICAL_BACKTRACKING,
+                                1L)
+                        .stream()
+                        .map(solution -> Arrays.toString(solution.get()))
+                        .distinct()
+                        .count());
+    }
+
+    @Test
+    public void gplStreamingSolverMatchesMaterializedSolver() {
+        BooleanAssignmentList clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        int variableCount = clauseList.getVariableMap().size();
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList);
+        SAT4JSolutionSolver streamingSolver = SAT4JSolver.createStreaming(clauseList, SAT4JSolutionSolver::new);
+        assertEquals(0, streamingSolver.getClauseList().size());
+        assertEquals(clauseList.size(), streamingSolver.getClauseList().getLoadedClauseCount());
+        assertEquals(clauseList.getVariableMap(), streamingSolver.getClauseList().getVariableMap());
+
+        Random random = new Random(1);
+        for (int i = 0; i < 200; i++) {
+            int[] literals = new int[3];
+            for (int j = 0; j < literals.length; j++) {
+                literals[j] = (random.nextInt(variableCount) + 1) * (random.nextBoolean() ? 1 : -1);
+            }
+            assertEquals(
+                    solver.hasSolution(literals).get(),
+                    streamingSolver.hasSolution(literals).get(),
+                    Arrays.toString(literals));
+
+            // clauses added on top of loaded clauses can still be removed
+            streamingSolver.getClauseList().add(literals);
+            solver.getClauseList().add(literals);
+            assertEquals(solver.hasSolution().get(), streamingSolver.hasSolution().get());
+            streamingSolver.getClauseList().remove();
+            solver.getClauseList().remove();
+            assertEquals(0, streamingSolver.getClauseList().size());
+        }
+    }
+
+    private Set<String> computeSolutions(
+            IComputation<BooleanAssignmentList> clauseList, DuplicateElimination duplicateElimination) {
+        BooleanAssignmentList solutions = clauseList
+                .map(ComputeSolutionsSAT4J::new)
+                .set(ComputeSolutionsSAT4J.DUPLICATE_ELIMINATION, duplicateElimination)
+                .compute();
+        Set<String> solutionSet = new HashSet<>();
+        for (BooleanAssignment solution : solutions) {
+            solutionSet.add(Arrays.toString(solution.get()));
+        }
+        assertEquals(solutions.size(), solutionSet.size());
+        return solutionSet;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeUniformSampleSAT4J;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.VariableMap;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeUniformSampleTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplSampleContainsOnlySolutions() {
+        IComputation<BooleanAssignmentList> clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        Set<String> solutions = new HashSet<>();
+        for (BooleanAssignment solution :
+                clauseList.map(ComputeSolutionsSAT4J::new).compute()) {
+            solutions.add(Arrays.toString(solution.get()));
+        }
+
+        BooleanAssignmentList sample = clauseList
+                .map(ComputeUniformSampleSAT4J::new)
+                .set(ComputeUniformSampleSAT4J.SAMPLE_SIZE, 20)
+                .compute();
+        assertEquals(20, sample.size());
+        for (BooleanAssignment configuration : sample) {
+            assertTrue(solutions.contains(Arrays.toString(configuration.get())));
+        }
+    }
+
+    @Test
+    public void sampleFrequenciesAreUniform() {
+        VariableMap variableMap = new VariableMap(
+                IntStream.rangeClosed(1, 9).mapToObj(i -> "v" + i).collect(Collectors.toList()));
+        IComputation<BooleanAssignmentList> clauseList =
+                Computations.of(new BooleanAssignmentList(variableMap, List.of(new BooleanAssignment(1, 2))));
+        int solutionCount = 384;
+        int samplesPerSolution = 20;
+
+        BooleanAssignmentList sample = clauseList
+                .map(ComputeUniformSampleSAT4J::new)
+                .set(ComputeUniformSampleSAT4J.SAMPLE_SIZE, solutionCount * samplesPerSolution)
+                .compute();
+        assertEquals(solutionCount * samplesPerSolution, sample.size());
+
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (BooleanAssignment configuration : sample) {
+            int[] literals = configuration.get();
+            assertTrue(literals[0] > 0 || literals[1] > 0);
+            frequencies.merge(Arrays.toString(literals), 1, Integer::sum);
+        }
+        assertEquals(solutionCount, frequencies.size());
+
+        double chiSquare = 0;
+        for (int frequency : frequencies.values()) {
+            chiSquare += (frequency - samplesPerSolution) * (frequency - samplesPerSolution)
+                    / (double) samplesPerSolution;
+        }
+        int degreesOfFreedom = solutionCount - 1;
+        assertTrue(
+                chiSquare < degreesOfFreedom + 5 * Math.sqrt(2 * degreesOfFreedom),
+                "chi-square statistic " + chiSquare);
+    }
+}
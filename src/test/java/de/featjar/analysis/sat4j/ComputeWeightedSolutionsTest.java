@@ -0,0 +1,116 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeWeightedSolutionsSAT4J;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignment;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class ComputeWeightedSolutionsTest extends Common {
+
+    private static IComputation<BooleanAssignmentList> clauseList;
+    private static Set<String> solutions;
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+        clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+        solutions = new HashSet<>();
+        for (BooleanAssignment solution :
+                clauseList.map(ComputeSolutionsSAT4J::new).compute()) {
+            solutions.add(Arrays.toString(solution.get()));
+        }
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplSampleWithoutDuplicatesContainsDistinctSolutions() {
+        int sampleSize = Math.min(50, solutions.size());
+        BooleanAssignmentList sample = clauseList
+                .map(ComputeWeightedSolutionsSAT4J::new)
+                .set(ComputeWeightedSolutionsSAT4J.SAMPLE_SIZE, sampleSize)
+                .set(ComputeWeightedSolutionsSAT4J.FORBID_DUPLICATES, true)
+                .compute();
+        assertEquals(sampleSize, sample.size());
+        Set<String> sampledSolutions = new HashSet<>();
+        for (BooleanAssignment configuration : sample) {
+            String solution = Arrays.toString(configuration.get());
+            assertTrue(solutions.contains(solution));
+            assertTrue(sampledSolutions.add(solution));
+        }
+    }
+
+    /**
+     * With probabilities of zero and one, every decision takes the preferred phase. Hence, a variable can only have
+     * the other phase if it was propagated, in which case flipping it violates a clause.
+     */
+    @Test
+    public void gplExtremeProbabilitiesForcePhase() {
+        int variableCount = clauseList.compute().getVariableMap().size();
+        double[] probabilities = new double[variableCount];
+        for (int i = 0; i < variableCount; i++) {
+            probabilities[i] = i % 2;
+        }
+
+        BooleanAssignmentList sample = clauseList
+                .map(ComputeWeightedSolutionsSAT4J::new)
+                .set(ComputeWeightedSolutionsSAT4J.PROBABILITIES, probabilities)
+                .set(ComputeWeightedSolutionsSAT4J.SAMPLE_SIZE, 20)
+                .compute();
+        assertEquals(20, sample.size());
+        for (BooleanAssignment configuration : sample) {
+            int[] literals = configuration.get();
+            assertTrue(solutions.contains(Arrays.toString(literals)));
+            for (int i = 0; i < variableCount; i++) {
+                boolean preferred = (literals[i] > 0) == (probabilities[i] == 1);
+                int[] flipped = Arrays.copyOf(literals, literals.length);
+                flipped[i] = -flipped[i];
+                assertTrue(preferred || !solutions.contains(Arrays.toString(flipped)), "variable " + (i + 1));
+            }
+        }
+    }
+}
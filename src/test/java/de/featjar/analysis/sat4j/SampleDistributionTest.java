@@ -0,0 +1,123 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.analysis.sat4j.solver.SampleDistribution;
+import de.featjar.formula.assignment.BooleanAssignment;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+public class SampleDistributionTest {
+
+    @Test
+    public void unsetReactivatesOnlyConfigurationsWithoutOtherConflicts() {
+        SampleDistribution distribution = new SampleDistribution(List.of(
+                new BooleanAssignment(1, 2, 3), new BooleanAssignment(-1, -2, 3), new BooleanAssignment(1, -2, -3)));
+        assertEquals(3, distribution.getTotalCount());
+        assertEquals(3, distribution.getActiveCount());
+
+        distribution.set(-1);
+        distribution.set(-2);
+        assertEquals(1, distribution.getActiveCount());
+        assertTrue(distribution.isActive(1));
+
+        distribution.unset(1);
+        assertEquals(2, distribution.getActiveCount());
+        assertFalse(distribution.isActive(0));
+        assertTrue(distribution.isActive(2));
+
+        distribution.unset(2);
+        assertEquals(3, distribution.getActiveCount());
+        assertEquals(3, distribution.getTotalCount());
+    }
+
+    @Test
+    public void randomSetAndUnsetMatchRecount() {
+        Random random = new Random(1);
+        int variableCount = 12;
+        int sampleCount = 150;
+        List<BooleanAssignment> sample = new ArrayList<>(sampleCount);
+        for (int s = 0; s < sampleCount; s++) {
+            int[] literals = new int[variableCount];
+            for (int i = 0; i < variableCount; i++) {
+                literals[i] = random.nextBoolean() ? i + 1 : -(i + 1);
+            }
+            sample.add(new BooleanAssignment(literals));
+        }
+
+        SampleDistribution distribution = new SampleDistribution(sample);
+        int[] model = new int[variableCount];
+        for (int step = 0; step < 2000; step++) {
+            int variable = random.nextInt(variableCount) + 1;
+            if (random.nextBoolean()) {
+                int literal = random.nextBoolean() ? variable : -variable;
+                distribution.set(literal);
+                if (model[variable - 1] == 0) {
+                    model[variable - 1] = literal;
+                }
+            } else {
+                distribution.unset(variable);
+                model[variable - 1] = 0;
+            }
+            if (step % 500 == 499) {
+                distribution.reset();
+                model = new int[variableCount];
+            }
+            assertMatchesRecount(distribution, sample, model);
+        }
+    }
+
+    private static void assertMatchesRecount(
+            SampleDistribution distribution, List<BooleanAssignment> sample, int[] model) {
+        int activeCount = 0;
+        int[] positiveCounts = new int[model.length];
+        for (int s = 0; s < sample.size(); s++) {
+            int[] literals = sample.get(s).get();
+            boolean active = true;
+            for (int i = 0; i < model.length; i++) {
+                if (model[i] != 0 && literals[i] == -model[i]) {
+                    active = false;
+                    break;
+                }
+            }
+            assertEquals(active, distribution.isActive(s));
+            if (active) {
+                activeCount++;
+                for (int i = 0; i < model.length; i++) {
+                    if (literals[i] >= 0) {
+                        positiveCounts[i]++;
+                    }
+                }
+            }
+        }
+        assertEquals(activeCount, distribution.getActiveCount());
+        assertEquals(sample.size(), distribution.getTotalCount());
+        for (int i = 0; i < model.length; i++) {
+            assertEquals(positiveCounts[i], distribution.getPositiveCount(i));
+        }
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.analysis.sat4j.solver.SolverMetrics;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.base.computation.IComputation;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.structure.IFormula;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class SolverMetricsTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    private IComputation<BooleanAssignmentList> loadGPL() {
+        return Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new);
+    }
+
+    @Test
+    public void gplSolverMetricsRecordEachCall() {
+        BooleanAssignmentList clauseList = loadGPL().compute();
+        SAT4JSolutionSolver solver = new SAT4JSolutionSolver(clauseList);
+        SolverMetrics sharedMetrics = new SolverMetrics();
+        solver.setSharedMetrics(sharedMetrics);
+        solver.setStatisticsEnabled(true);
+        long globalCallCount = SolverMetrics.global().getCallCount();
+
+        int satisfiable = 0;
+        for (int variable = 1; variable <= clauseList.getVariableMap().size(); variable++) {
+            satisfiable += solver.hasSolution(variable).get() ? 1 : 0;
+            satisfiable += solver.hasSolution(-variable).get() ? 1 : 0;
+        }
+        int calls = 2 * clauseList.getVariableMap().size();
+
+        SolverMetrics metrics = solver.getMetrics();
+        assertEquals(calls, metrics.getCallCount());
+        assertEquals(satisfiable, metrics.getSatisfiableCount());
+        assertEquals(calls - satisfiable, metrics.getUnsatisfiableCount());
+        assertEquals(0, metrics.getTimeoutCount());
+        assertEquals(calls, sharedMetrics.getCallCount());
+        assertTrue(SolverMetrics.global().getCallCount() - globalCallCount >= calls);
+        assertTrue(metrics.getLatencyPercentile(0.5).compareTo(metrics.getLatencyPercentile(1)) <= 0);
+        assertTrue(metrics.getPropagations() > 0);
+        assertEquals(metrics.getPropagations(), sharedMetrics.getPropagations());
+    }
+
+    @Test
+    public void exportsRecordedCalls() {
+        SolverMetrics metrics = new SolverMetrics();
+        metrics.record(true, 1000, 1, 2, 3);
+        metrics.record(true, 2000, 1, 2, 3);
+        metrics.record(false, 3000, 1, 2, 3);
+        metrics.record(null, 4000, 0, 0, 0);
+
+        String json = metrics.toJSON();
+        assertTrue(json.contains("\"calls\": 4"), json);
+        assertTrue(json.contains("\"satisfiable\": 2"), json);
+        assertTrue(json.contains("\"unsatisfiable\": 1"), json);
+        assertTrue(json.contains("\"timeout\": 1"), json);
+        assertTrue(json.contains("\"totalNanos\": 10000"), json);
+        assertTrue(json.contains("\"propagations\": 9"), json);
+
+        String prometheus = metrics.toPrometheus("sat4j");
+        assertTrue(prometheus.contains("# TYPE sat4j_calls_total counter\n"), prometheus);
+        assertTrue(prometheus.contains("sat4j_calls_total{result=\"sat\"} 2\n"), prometheus);
+        assertTrue(prometheus.contains("sat4j_calls_total{result=\"unsat\"} 1\n"), prometheus);
+        assertTrue(prometheus.contains("sat4j_calls_total{result=\"timeout\"} 1\n"), prometheus);
+        assertTrue(prometheus.contains("sat4j_call_duration_seconds_sum 0.000010000\n"), prometheus);
+        assertTrue(prometheus.contains("sat4j_call_duration_seconds_count 4\n"), prometheus);
+        assertTrue(prometheus.contains("sat4j_decisions_total 6\n"), prometheus);
+    }
+
+    @Test
+    public void resetClearsAllMetrics() {
+        SolverMetrics metrics = new SolverMetrics();
+        metrics.record(true, 1000, 1, 2, 3);
+        metrics.record(null, 2000, 1, 2, 3);
+        metrics.reset();
+
+        assertEquals(0, metrics.getCallCount());
+        assertEquals(0, metrics.getTimeoutCount());
+        assertEquals(Duration.ZERO, metrics.getTotalTime());
+        assertEquals(0, metrics.getConflicts());
+        assertEquals(0, metrics.getDecisions());
+        assertEquals(0, metrics.getPropagations());
+        assertEquals(Duration.ZERO, metrics.getLatencyPercentile(1));
+
+        metrics.record(false, 1000, 0, 0, 0);
+        assertEquals(1, metrics.getUnsatisfiableCount());
+    }
+
+    @Test
+    public void noneIgnoresCalls() {
+        SolverMetrics.NONE.record(true, 1000, 1, 2, 3);
+        assertEquals(0, SolverMetrics.NONE.getCallCount());
+        assertEquals(0, SolverMetrics.NONE.getPropagations());
+    }
+
+    @Test
+    public void gplAnalysisRecordsMetricsPerRun() {
+        IComputation<BooleanAssignmentList> clauseList = loadGPL();
+        SolverMetrics firstRun = new SolverMetrics();
+        SolverMetrics secondRun = new SolverMetrics();
+
+        clauseList
+                .map(ComputeSolutionsSAT4J::new)
+                .set(ComputeSolutionsSAT4J.LIMIT, 10)
+                .set(ComputeSolutionsSAT4J.SOLVER_METRICS, firstRun)
+                .compute();
+        long firstRunCalls = firstRun.getCallCount();
+        assertTrue(firstRunCalls >= 10);
+
+        clauseList
+                .map(ComputeSolutionsSAT4J::new)
+                .set(ComputeSolutionsSAT4J.LIMIT, 20)
+                .set(ComputeSolutionsSAT4J.SOLVER_METRICS, secondRun)
+                .compute();
+        assertEquals(firstRunCalls, firstRun.getCallCount());
+        assertTrue(secondRun.getCallCount() >= 20);
+
+        clauseList.map(ComputeSolutionsSAT4J::new).set(ComputeSolutionsSAT4J.LIMIT, 10).compute();
+        assertEquals(firstRunCalls, firstRun.getCallCount());
+        assertEquals(0, SolverMetrics.NONE.getCallCount());
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2025 FeatJAR-Development-Team
+ *
+ * This file is part of FeatJAR-formula-analysis-sat4j.
+ *
+ * formula-analysis-sat4j is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3.0 of the License,
+ * or (at your option) any later version.
+ *
+ * formula-analysis-sat4j is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with formula-analysis-sat4j. If not, see <https://www.gnu.org/licenses/>.
+ *
+ * See <https://github.com/FeatureIDE/FeatJAR-formula-analysis-sat4j> for further information.
+ */
+package de.featjar.analysis.sat4j.cli;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import de.featjar.Common;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J.DuplicateElimination;
+import de.featjar.analysis.sat4j.computation.ComputeSolutionsSAT4J.SolutionIterator;
+import de.featjar.analysis.sat4j.solver.ISelectionStrategy;
+import de.featjar.analysis.sat4j.solver.SAT4JSolutionSolver;
+import de.featjar.base.FeatJAR;
+import de.featjar.base.computation.Computations;
+import de.featjar.formula.assignment.BooleanAssignmentGroups;
+import de.featjar.formula.assignment.BooleanAssignmentList;
+import de.featjar.formula.assignment.ComputeBooleanClauseList;
+import de.featjar.formula.computation.ComputeCNFFormula;
+import de.featjar.formula.computation.ComputeNNFFormula;
+import de.featjar.formula.io.csv.BooleanAssignmentGroupsUngroupedCSVFormat;
+import de.featjar.formula.structure.IFormula;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+public class SolutionsCommandTest extends Common {
+
+    @BeforeAll
+    public static void begin() {
+        FeatJAR.testConfiguration().initialize();
+    }
+
+    @AfterAll
+    public static void end() {
+        FeatJAR.deinitialize();
+    }
+
+    @Test
+    public void gplStreamedOutputEqualsCollectedOutput() throws IOException {
+        BooleanAssignmentList clauseList = Computations.of(loadFormula("GPL/model.xml"))
+                .cast(IFormula.class)
+                .map(ComputeNNFFormula::new)
+                .map(ComputeCNFFormula::new)
+                .map(ComputeBooleanClauseList::new)
+                .compute();
+        BooleanAssignmentGroupsUngroupedCSVFormat format = new BooleanAssignmentGroupsUngroupedCSVFormat();
+
+        for (int limit : new int[] {0, 10, Integer.MAX_VALUE}) {
+            BooleanAssignmentList solutions = Computations.of(clauseList)
+                    .map(ComputeSolutionsSAT4J::new)
+                    .set(ComputeSolutionsSAT4J.LIMIT, limit)
+                    .compute();
+            String collected =
+                    format.serialize(new BooleanAssignmentGroups(solutions)).orElseThrow();
+
+            StringWriter streamed = new StringWriter();
+            SolutionsCommand.writeSolutions(
+                    streamed,
+                    format,
+                    clauseList.getVariableMap(),
+                    new SolutionIterator(
+                            new SAT4JSolutionSolver(clauseList),
+                            ISelectionStrategy.Strategy.ORIGINAL,
+                            DuplicateElimination.SOLUTION_BLOCKING_CLAUSE,
+                            1L),
+                    limit);
+            assertEquals(collected, streamed.toString());
+        }
+    }
+}